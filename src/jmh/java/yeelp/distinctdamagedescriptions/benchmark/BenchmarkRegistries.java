@@ -0,0 +1,143 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.api.impl.DDDBuiltInDamageType;
+import yeelp.distinctdamagedescriptions.api.impl.DDDCustomDamageType;
+import yeelp.distinctdamagedescriptions.config.ModConfig;
+import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+import yeelp.distinctdamagedescriptions.registries.IDDDDamageTypeRegistry;
+
+/**
+ * Lightweight stand-ins for DDD's registries, so benchmarks can run without
+ * Minecraft or Forge being bootstrapped. Only the damage type registry is
+ * needed by the code under benchmark; it holds every built in type plus a few
+ * custom types, and never logs.
+ *
+ * @author Yeelp
+ *
+ */
+public final class BenchmarkRegistries {
+	/**
+	 * Custom damage types registered alongside the built in ones.
+	 */
+	public static final DDDDamageType[] CUSTOM_TYPES = {
+			new DDDCustomDamageType("arcane", "Arcane", false, null, null, 0xaa00ff),
+			new DDDCustomDamageType("blood", "Blood", false, null, null, 0x880000),
+			new DDDCustomDamageType("chaos", "Chaos", false, null, null, 0x444444),
+			new DDDCustomDamageType("holy", "Holy", false, null, null, 0xffffaa),
+			new DDDCustomDamageType("sonic", "Sonic", false, null, null, 0x00aaaa),
+			new DDDCustomDamageType("void", "Void", false, null, null, 0x110022)};
+
+	private static boolean installed = false;
+
+	private BenchmarkRegistries() {
+		throw new UnsupportedOperationException("Benchmark registries can't be instantiated!");
+	}
+
+	/**
+	 * Install the stand-in registries into {@link DDDRegistries}, and set up the
+	 * config the way a typical modpack would. Safe to call more than once.
+	 */
+	public static synchronized void install() {
+		if(installed) {
+			return;
+		}
+		ModConfig.core.suppressRegistrationInfo = true;
+		ModConfig.core.suppressWarnings = true;
+		ModConfig.core.useCustomDamageTypes = true;
+		DDDRegistries.damageTypes = new DamageTypes();
+		installed = true;
+	}
+
+	/**
+	 * Get every registered damage type, built in types first.
+	 * 
+	 * @return a new list of all registered types, in ordinal order.
+	 */
+	public static List<DDDDamageType> allTypes() {
+		install();
+		List<DDDDamageType> types = new ArrayList<DDDDamageType>();
+		for(int i = 0; i < DDDRegistries.damageTypes.size(); i++) {
+			types.add(DDDRegistries.damageTypes.getByOrdinal(i));
+		}
+		return types;
+	}
+
+	private static final class DamageTypes implements IDDDDamageTypeRegistry {
+		private final Map<String, DDDDamageType> map = new HashMap<String, DDDDamageType>();
+		private final List<DDDDamageType> byOrdinal = new ArrayList<DDDDamageType>();
+		private final Map<DDDDamageType, Integer> ordinals = new IdentityHashMap<DDDDamageType, Integer>();
+
+		DamageTypes() {
+			this.init();
+		}
+
+		@Override
+		public void init() {
+			this.registerAll(true, DDDBuiltInDamageType.BUILT_IN_TYPES);
+			this.registerAll(true, DDDBuiltInDamageType.NORMAL, DDDBuiltInDamageType.UNKNOWN);
+			this.registerAll(true, CUSTOM_TYPES);
+		}
+
+		@Override
+		public void register(boolean suppressOutput, DDDDamageType obj) {
+			if(this.isRegistered(obj)) {
+				throw new RuntimeException(obj.toString() + "was already registered!");
+			}
+			this.map.put(obj.getTypeName(), obj);
+			this.ordinals.put(obj, this.byOrdinal.size());
+			this.byOrdinal.add(obj);
+		}
+
+		@Override
+		public void registerAll(boolean suppressOutput, DDDDamageType... objs) {
+			for(DDDDamageType type : objs) {
+				this.register(suppressOutput, type);
+			}
+		}
+
+		@Override
+		public boolean isRegistered(DDDDamageType obj) {
+			return this.map.containsKey(obj.getTypeName());
+		}
+
+		@Override
+		public DDDDamageType get(String key) {
+			return this.map.get(key);
+		}
+
+		@Override
+		public Collection<DDDDamageType> getAll() {
+			return this.map.values();
+		}
+
+		@Override
+		public Iterator<DDDDamageType> iterator() {
+			return this.map.values().iterator();
+		}
+
+		@Override
+		public int getOrdinal(DDDDamageType type) {
+			Integer ordinal = this.ordinals.get(type);
+			return ordinal == null ? -1 : ordinal;
+		}
+
+		@Override
+		public DDDDamageType getByOrdinal(int ordinal) {
+			return this.byOrdinal.get(ordinal);
+		}
+
+		@Override
+		public int size() {
+			return this.byOrdinal.size();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.capability.impl.DamageDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.MobResistances;
+import yeelp.distinctdamagedescriptions.capability.impl.ShieldDistribution;
+import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.DistributionBias;
+
+/**
+ * Benchmarks for the calculations DDD runs on every hit: distributing damage,
+ * blocking with a shield, updating adaptive resistance and biasing a
+ * distribution towards a material's preferred distribution.
+ * <p>
+ * {@code types} controls how many damage types each distribution, shield and
+ * damage map involves.
+ *
+ * @author Yeelp
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatBenchmarks {
+	@Param({"1", "3", "8"})
+	public int types;
+
+	private DamageDistribution dist;
+	private DamageMap reusedMap;
+	private DamageMap damage;
+	private ShieldDistribution shield;
+	private MobResistances resists;
+	private DamageMap[] adaptiveHits;
+	private int nextHit;
+	private DistributionBias bias;
+	private DDDBaseMap<Float> baseDist;
+
+	@Setup
+	public void setup() {
+		List<DDDDamageType> all = BenchmarkRegistries.allTypes();
+		DDDBaseMap<Float> weights = new DDDBaseMap<Float>(() -> 0.0f);
+		DDDBaseMap<Float> blockWeights = new DDDBaseMap<Float>(() -> 0.0f);
+		DDDBaseMap<Float> preferred = new DDDBaseMap<Float>(() -> 0.0f);
+		for(int i = 0; i < this.types; i++) {
+			weights.put(all.get(i), 1.0f / this.types);
+			blockWeights.put(all.get(i), 0.5f);
+			// the preferred distribution only partially overlaps the base one.
+			preferred.put(all.get(all.size() - 1 - i), 1.0f / this.types);
+		}
+		this.dist = new DamageDistribution(weights);
+		this.reusedMap = new DamageMap();
+		this.damage = this.dist.distributeDamage(10.0f);
+		this.shield = new ShieldDistribution(blockWeights);
+		this.resists = new MobResistances();
+		this.resists.setAdaptiveResistance(true);
+		this.resists.setAdaptiveAmount(0.3f);
+		// alternate between two different sets of types, so every update changes
+		// what the mob is adaptive to.
+		this.adaptiveHits = new DamageMap[] {
+				this.damage,
+				new DamageDistribution(preferred).distributeDamage(10.0f)};
+		this.bias = new DistributionBias(preferred, 0.4f);
+		this.baseDist = weights;
+	}
+
+	@Benchmark
+	public DamageMap distributeDamage() {
+		return this.dist.distributeDamage(10.0f);
+	}
+
+	@Benchmark
+	public DamageMap distributeDamageReusingMap() {
+		return this.dist.distributeDamage(10.0f, this.reusedMap);
+	}
+
+	@Benchmark
+	public DamageMap shieldBlock() {
+		// block() mutates the map it's given, so this includes the cost of a copy.
+		return this.shield.block(this.damage.copy());
+	}
+
+	@Benchmark
+	public boolean updateAdaptiveResistanceChanged() {
+		this.nextHit ^= 1;
+		return this.resists.updateAdaptiveResistance(this.adaptiveHits[this.nextHit]);
+	}
+
+	@Benchmark
+	public boolean updateAdaptiveResistanceUnchanged() {
+		return this.resists.updateAdaptiveResistance(this.damage);
+	}
+
+	@Benchmark
+	public Optional<DDDBaseMap<Float>> biasedDistribution() {
+		return this.bias.getBiasedDistributionMap(this.baseDist, 0.1f);
+	}
+}
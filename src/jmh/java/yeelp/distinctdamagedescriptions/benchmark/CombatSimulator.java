@@ -0,0 +1,82 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.Random;
+
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.CombatResults;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.CombatResults.ResultsBuilder;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.ArmorTotals;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.CombatKernel;
+
+/**
+ * Runs synthetic combats against the {@link CombatKernel} without Minecraft,
+ * and reports throughput along with aggregate results. Runs are reproducible:
+ * the same arguments always simulate the same combats.
+ * <p>
+ * Usage: {@code ./gradlew simulate -PsimArgs="[combats] [seed] [combatants]"}
+ *
+ * @author Yeelp
+ *
+ */
+public final class CombatSimulator {
+	private static final int DEFAULT_COMBATS = 10000000;
+	private static final long DEFAULT_SEED = 0L;
+	private static final int DEFAULT_COMBATANTS = 256;
+
+	private final SyntheticCombatants combatants;
+	private final DamageMap dmg = new DamageMap();
+	private final ResultsBuilder results = new ResultsBuilder();
+	private final ArmorTotals scratch = new ArmorTotals();
+	private long immunities, resistances, weaknesses, shields;
+	private double dealt, taken;
+
+	private CombatSimulator(SyntheticCombatants combatants) {
+		this.combatants = combatants;
+	}
+
+	public static void main(String[] args) {
+		int combats = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COMBATS;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+		int count = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_COMBATANTS;
+		SyntheticCombatants combatants = new SyntheticCombatants(count, seed);
+		// warm up on a separate simulator so the reported totals only cover the
+		// measured run.
+		new CombatSimulator(combatants).run(combats / 10, seed);
+		CombatSimulator sim = new CombatSimulator(combatants);
+		long start = System.nanoTime();
+		sim.run(combats, seed);
+		long nanos = System.nanoTime() - start;
+		System.out.println(String.format("Simulated %d combats in %.3fs (%.0f combats/s)", combats, nanos / 1e9, combats / (nanos / 1e9)));
+		System.out.println(String.format("Damage dealt: %.1f, damage taken: %.1f (%.1f%%)", sim.dealt, sim.taken, sim.dealt == 0 ? 0 : 100 * sim.taken / sim.dealt));
+		System.out.println(String.format("Immunities: %.2f%%, resistances: %.2f%%, weaknesses: %.2f%%, shields: %.2f%%", percent(sim.immunities, combats), percent(sim.resistances, combats), percent(sim.weaknesses, combats), percent(sim.shields, combats)));
+	}
+
+	/**
+	 * Simulate combats
+	 *
+	 * @param combats how many combats to simulate
+	 * @param seed    the seed that picks combatants and damage
+	 */
+	void run(int combats, long seed) {
+		Random rand = new Random(seed);
+		int count = this.combatants.attackers.length;
+		for(int i = 0; i < combats; i++) {
+			SyntheticCombatants.Attacker attacker = this.combatants.attackers[rand.nextInt(count)];
+			int defender = rand.nextInt(count);
+			float amount = 1.0f + rand.nextInt(20);
+			attacker.dist.distributeDamage(amount, this.dmg);
+			this.results.reset();
+			this.taken += CombatKernel.resolve(this.dmg, attacker, this.combatants.defenders[defender], rand.nextInt(4) == 0 ? this.combatants.shields[defender] : null, this.combatants.armor[defender], this.results, this.scratch);
+			this.dealt += amount;
+			CombatResults result = this.results.build();
+			this.immunities += result.wasImmunityTriggered() ? 1 : 0;
+			this.resistances += result.wasResistanceHit() ? 1 : 0;
+			this.weaknesses += result.wasWeaknessHit() ? 1 : 0;
+			this.shields += result.wasShieldEffective() ? 1 : 0;
+		}
+	}
+
+	private static double percent(long n, int total) {
+		return total == 0 ? 0 : 100.0 * n / total;
+	}
+}
@@ -0,0 +1,61 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.config.readers.exceptions.ConfigParsingException;
+import yeelp.distinctdamagedescriptions.util.ConfigReaderUtilities;
+import yeelp.distinctdamagedescriptions.util.lib.NonNullMap;
+
+/**
+ * Benchmarks for parsing config entries. DDD parses every config map at startup
+ * and on every config reload, and packs can have thousands of entries.
+ *
+ * @author Yeelp
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmarks {
+	@Param({"1", "3", "8"})
+	public int types;
+
+	private String entry;
+
+	@Setup
+	public void setup() {
+		List<DDDDamageType> all = BenchmarkRegistries.allTypes();
+		StringBuilder sb = new StringBuilder("[");
+		for(int i = 0; i < this.types; i++) {
+			if(i > 0) {
+				sb.append(", ");
+			}
+			String name = all.get(i).getTypeName();
+			// use the shorthand for physical types, like most config entries do.
+			sb.append('(').append(all.get(i).getType() == DDDDamageType.Type.PHYSICAL ? name.substring(4, 5) : name).append(", ").append(1.0f / this.types).append(')');
+		}
+		this.entry = sb.append(']').toString();
+	}
+
+	@Benchmark
+	public NonNullMap<DDDDamageType, Float> parseMap() throws ConfigParsingException {
+		return ConfigReaderUtilities.parseMap(this.entry, ConfigReaderUtilities::parseDamageType, Float::parseFloat, () -> 0.0f);
+	}
+}
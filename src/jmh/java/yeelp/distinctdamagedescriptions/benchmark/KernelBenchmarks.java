@@ -0,0 +1,57 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.CombatResults.ResultsBuilder;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.ArmorTotals;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.CombatKernel;
+
+/**
+ * Benchmarks a whole combat calculation through the {@link CombatKernel},
+ * cycling through a fixed set of synthetic combatants.
+ *
+ * @author Yeelp
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmarks {
+	private static final int COMBATANTS = 256;
+
+	private SyntheticCombatants combatants;
+	private final DamageMap dmg = new DamageMap();
+	private final ResultsBuilder results = new ResultsBuilder();
+	private final ArmorTotals scratch = new ArmorTotals();
+	private int next;
+
+	@Setup
+	public void setup() {
+		this.combatants = new SyntheticCombatants(COMBATANTS, 0L);
+	}
+
+	@Benchmark
+	public float resolve() {
+		int i = this.next = (this.next + 1) & (COMBATANTS - 1);
+		int j = (i * 31) & (COMBATANTS - 1);
+		SyntheticCombatants.Attacker attacker = this.combatants.attackers[i];
+		attacker.dist.distributeDamage(10.0f, this.dmg);
+		this.results.reset();
+		return CombatKernel.resolve(this.dmg, attacker, this.combatants.defenders[j], this.combatants.shields[j], this.combatants.armor[j], this.results, this.scratch);
+	}
+}
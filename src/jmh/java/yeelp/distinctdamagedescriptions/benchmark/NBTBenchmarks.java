@@ -0,0 +1,87 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.capability.impl.MobResistances;
+import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
+
+/**
+ * Benchmarks for NBT round trips of DDD's maps. Every capability DDD attaches
+ * is written whenever its owner is saved, and read whenever it's loaded.
+ *
+ * @author Yeelp
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NBTBenchmarks {
+	@Param({"1", "3", "8"})
+	public int types;
+
+	private DDDBaseMap<Float> map;
+	private NBTTagList mapTag;
+	private MobResistances resists;
+	private NBTTagCompound resistsTag;
+
+	@Setup
+	public void setup() {
+		List<DDDDamageType> all = BenchmarkRegistries.allTypes();
+		this.map = new DDDBaseMap<Float>(() -> 0.0f);
+		HashSet<DDDDamageType> immunities = new HashSet<DDDDamageType>();
+		for(int i = 0; i < this.types; i++) {
+			this.map.put(all.get(i), 0.25f * (i + 1));
+		}
+		immunities.add(all.get(all.size() - 1));
+		this.mapTag = DDDBaseMap.toNBT(this.map);
+		this.resists = new MobResistances(this.map, immunities, true, 0.3f);
+		this.resistsTag = this.resists.serializeNBT();
+	}
+
+	@Benchmark
+	public NBTTagList writeBaseMap() {
+		return DDDBaseMap.toNBT(this.map);
+	}
+
+	@Benchmark
+	public DDDBaseMap<Float> readBaseMap() {
+		return DDDBaseMap.fromNBT(this.mapTag, () -> 0.0f);
+	}
+
+	@Benchmark
+	public DDDBaseMap<Float> roundTripBaseMap() {
+		return DDDBaseMap.fromNBT(DDDBaseMap.toNBT(this.map), () -> 0.0f);
+	}
+
+	@Benchmark
+	public NBTTagCompound writeMobResistances() {
+		return this.resists.serializeNBT();
+	}
+
+	@Benchmark
+	public MobResistances readMobResistances() {
+		MobResistances resistances = new MobResistances();
+		resistances.deserializeNBT(this.resistsTag);
+		return resistances;
+	}
+}
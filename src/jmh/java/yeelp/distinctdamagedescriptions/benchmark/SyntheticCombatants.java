@@ -0,0 +1,121 @@
+package yeelp.distinctdamagedescriptions.benchmark;
+
+import java.util.List;
+import java.util.Random;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.capability.impl.DamageDistribution;
+import yeelp.distinctdamagedescriptions.util.ArmorMap;
+import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
+import yeelp.distinctdamagedescriptions.util.ResistMap;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.AttackerProfile;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.DefenderProfile;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.ShieldTable;
+
+/**
+ * Randomly generated attackers, defenders, armor and shields for running the
+ * combat kernel headless. Generation is seeded, so the same seed always gives
+ * the same combatants.
+ *
+ * @author Yeelp
+ *
+ */
+public final class SyntheticCombatants {
+	public final Attacker[] attackers;
+	public final Defender[] defenders;
+	public final ArmorMap[] armor;
+	public final ShieldTable[] shields;
+
+	public static final class Attacker implements AttackerProfile {
+		public final DamageDistribution dist;
+		private final boolean slyStrike;
+		private final float bruteForce;
+
+		Attacker(DamageDistribution dist, boolean slyStrike, float bruteForce) {
+			this.dist = dist;
+			this.slyStrike = slyStrike;
+			this.bruteForce = bruteForce;
+		}
+
+		@Override
+		public boolean hasSlyStrike() {
+			return this.slyStrike;
+		}
+
+		@Override
+		public float getBruteForce() {
+			return this.bruteForce;
+		}
+	}
+
+	public static final class Defender implements DefenderProfile {
+		private final ResistMap resists = new ResistMap();
+		private final boolean[] immunities;
+
+		Defender(int types) {
+			this.immunities = new boolean[types];
+		}
+
+		@Override
+		public ResistMap getResistances() {
+			return this.resists;
+		}
+
+		@Override
+		public boolean isImmune(int ordinal) {
+			return this.immunities[ordinal];
+		}
+	}
+
+	/**
+	 * Generate combatants
+	 *
+	 * @param count how many of each kind of combatant to generate
+	 * @param seed  the seed
+	 */
+	public SyntheticCombatants(int count, long seed) {
+		Random rand = new Random(seed);
+		List<DDDDamageType> types = BenchmarkRegistries.allTypes();
+		int n = types.size();
+		this.attackers = new Attacker[count];
+		this.defenders = new Defender[count];
+		this.armor = new ArmorMap[count];
+		this.shields = new ShieldTable[count];
+		for(int i = 0; i < count; i++) {
+			DDDBaseMap<Float> weights = new DDDBaseMap<Float>(() -> 0.0f);
+			int dealt = 1 + rand.nextInt(3);
+			for(int j = 0; j < dealt; j++) {
+				weights.put(types.get(rand.nextInt(n)), 1.0f);
+			}
+			float total = (float) weights.size();
+			weights.replaceAll((t, w) -> w / total);
+			this.attackers[i] = new Attacker(new DamageDistribution(weights), rand.nextInt(20) == 0, rand.nextInt(4) * 0.1f);
+
+			Defender defender = new Defender(n);
+			for(int j = 0; j < n; j++) {
+				int roll = rand.nextInt(10);
+				if(roll < 3) {
+					defender.resists.setFloat(j, rand.nextFloat() * 1.5f - 0.5f);
+				}
+				else if(roll == 3 && rand.nextBoolean()) {
+					defender.immunities[j] = true;
+				}
+			}
+			this.defenders[i] = defender;
+
+			ArmorMap armor = new ArmorMap();
+			for(int j = 0; j < n; j++) {
+				if(rand.nextInt(3) == 0) {
+					armor.set(types.get(j), rand.nextFloat() * 8, rand.nextFloat() * 2);
+				}
+			}
+			this.armor[i] = armor;
+
+			float[] block = new float[n];
+			for(int j = 0; j < n; j++) {
+				block[j] = rand.nextInt(4) == 0 ? rand.nextFloat() : 0.0f;
+			}
+			this.shields[i] = (ordinal) -> block[ordinal];
+		}
+	}
+}
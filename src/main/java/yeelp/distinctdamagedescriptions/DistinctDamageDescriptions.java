@@ -10,15 +10,20 @@ import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.Mod.Instance;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
 import yeelp.distinctdamagedescriptions.capability.ICreatureType;
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
 import yeelp.distinctdamagedescriptions.capability.IMobResistances;
 import yeelp.distinctdamagedescriptions.capability.impl.ShieldDistribution;
+import yeelp.distinctdamagedescriptions.command.DDDCommand;
 import yeelp.distinctdamagedescriptions.config.DDDConfigLoader;
 import yeelp.distinctdamagedescriptions.config.ModConfig;
+import yeelp.distinctdamagedescriptions.config.ResolvedEntityProfile;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 import yeelp.distinctdamagedescriptions.handlers.CapabilityHandler;
 import yeelp.distinctdamagedescriptions.handlers.MobHandler;
 import yeelp.distinctdamagedescriptions.handlers.PacketHandler;
@@ -83,6 +88,19 @@ public class DistinctDamageDescriptions {
 		ModIntegrationKernel.doPostInit(event);
 	}
 
+	@SuppressWarnings("static-method")
+	@EventHandler
+	public void loadComplete(FMLLoadCompleteEvent event) {
+		ResolvedItemProfile.build();
+		ResolvedEntityProfile.build();
+	}
+
+	@SuppressWarnings("static-method")
+	@EventHandler
+	public void serverStarting(FMLServerStartingEvent event) {
+		event.registerServerCommand(new DDDCommand());
+	}
+
 	public static void info(String msg) {
 		logger.info("[DISTINCT DAMAGE DESCRIPTIONS] " + msg);
 	}
@@ -1,5 +1,6 @@
 package yeelp.distinctdamagedescriptions.api;
 
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
@@ -64,6 +65,37 @@ public interface DDDPredefinedDistribution extends Comparable<DDDPredefinedDistr
 		return 0;
 	}
 
+	/**
+	 * Get the singleton DamageSources this distribution can apply to. The
+	 * distribution registry uses this to index distributions, so that only
+	 * candidates for a given DamageSource are consulted. Sources are compared by
+	 * identity.
+	 * <p>
+	 * If both this and {@link #getApplicableDamageTypes()} return empty Sets, the
+	 * distribution is consulted for every DamageSource.
+	 * 
+	 * @return a Set of DamageSources this distribution may apply to, or an empty
+	 *         Set if not restricted to particular instances.
+	 */
+	default Set<DamageSource> getApplicableSources() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Get the {@link DamageSource#damageType} strings this distribution can apply
+	 * to. The distribution registry uses this to index distributions, so that only
+	 * candidates for a given DamageSource are consulted.
+	 * <p>
+	 * If both this and {@link #getApplicableSources()} return empty Sets, the
+	 * distribution is consulted for every DamageSource.
+	 * 
+	 * @return a Set of damage type strings this distribution may apply to, or an
+	 *         empty Set if not restricted to particular types.
+	 */
+	default Set<String> getApplicableDamageTypes() {
+		return Collections.emptySet();
+	}
+
 	@Override
 	default int compareTo(DDDPredefinedDistribution o) {
 		return Integer.compare(this.priority(), o.priority());
@@ -7,6 +7,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTBase;
+import net.minecraft.util.DamageSource;
 import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
 import yeelp.distinctdamagedescriptions.util.DamageMap;
@@ -35,6 +36,19 @@ public interface IDistinctDamageDescriptionsMutator {
 	 */
 	public boolean updateAdaptiveResistances(EntityLivingBase entity, DamageMap dmgMap);
 
+	/**
+	 * Damage several entities with the same DamageSource, such as for an area of
+	 * effect attack. Attacker side classification (the attacker's distribution and
+	 * enchantments) is resolved once and shared by every target, instead of once
+	 * per target.
+	 * 
+	 * @param src     the DamageSource to inflict
+	 * @param amount  the amount of damage to inflict on each target
+	 * @param targets the entities to damage
+	 * @return the number of targets that were damaged
+	 */
+	public int attackEntitiesFrom(DamageSource src, float amount, Iterable<? extends EntityLivingBase> targets);
+
 	/**
 	 * Register an item capability
 	 * 
@@ -1,12 +1,17 @@
 package yeelp.distinctdamagedescriptions.api.impl;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
@@ -17,6 +22,7 @@ import net.minecraft.entity.IProjectile;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
+import net.minecraft.util.DamageSource;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import yeelp.distinctdamagedescriptions.api.DDDAPI;
@@ -53,6 +59,91 @@ public enum DistinctDamageDescriptionsAPIImpl implements IDistinctDamageDescript
 
 	private static final String ITEM = "item", ENTITY = "entity", PROJECTILE = "proj";
 	private final Map<String, Multimap<Class<? extends DDDCapabilityBase<? extends NBTBase>>, Capability<? extends DDDCapabilityBase<? extends NBTBase>>>> caps = Maps.newHashMap();
+	private final CapLookup itemDamage = new CapLookup(ITEM, IDamageDistribution.class, () -> DamageDistribution.cap);
+	private final CapLookup itemArmor = new CapLookup(ITEM, IArmorDistribution.class, () -> ArmorDistribution.cap);
+	private final CapLookup itemShield = new CapLookup(ITEM, ShieldDistribution.class, () -> ShieldDistribution.cap);
+	private final CapLookup entityDamage = new CapLookup(ENTITY, IDamageDistribution.class, () -> DamageDistribution.cap);
+	private final CapLookup projectileDamage = new CapLookup(PROJECTILE, IDamageDistribution.class, () -> DamageDistribution.cap);
+	private final List<CapLookup> lookups = ImmutableList.of(this.itemDamage, this.itemArmor, this.itemShield, this.entityDamage, this.projectileDamage);
+
+	/**
+	 * Finds which capability to use for one kind of capability provider and one
+	 * capability class. The capabilities registered for it are compiled into an
+	 * array when first needed, with the default capability last. Which registered
+	 * capability was found is remembered for each item or entity class, since
+	 * that's what decides which capabilities get attached, so most lookups only
+	 * ask the provider for a single capability. Falling back to the default is
+	 * never remembered.
+	 *
+	 * @author Yeelp
+	 *
+	 */
+	private final class CapLookup {
+		private final String kind;
+		private final Class<? extends DDDCapabilityBase<? extends NBTBase>> clazz;
+		private final Supplier<Capability<? extends DDDCapabilityBase<? extends NBTBase>>> fallback;
+		private final Map<Object, Capability<? extends DDDCapabilityBase<? extends NBTBase>>> memo = new ConcurrentHashMap<Object, Capability<? extends DDDCapabilityBase<? extends NBTBase>>>();
+		private volatile Capability<? extends DDDCapabilityBase<? extends NBTBase>>[] compiled;
+
+		CapLookup(String kind, Class<? extends DDDCapabilityBase<? extends NBTBase>> clazz, Supplier<Capability<? extends DDDCapabilityBase<? extends NBTBase>>> fallback) {
+			this.kind = kind;
+			this.clazz = clazz;
+			this.fallback = fallback;
+		}
+
+		/**
+		 * Find the capability a provider has
+		 *
+		 * @param thing the provider
+		 * @param type  what decides which capabilities {@code thing} has; its item
+		 *              or class.
+		 * @return an Optional containing the capability, or an empty Optional if
+		 *         {@code thing} has none.
+		 */
+		Optional<DDDCapabilityBase<? extends NBTBase>> find(@Nullable ICapabilityProvider thing, Object type) {
+			if(thing == null) {
+				return Optional.empty();
+			}
+			Capability<? extends DDDCapabilityBase<? extends NBTBase>>[] caps = this.getCompiled();
+			if(caps.length == 1) {
+				return Optional.ofNullable(thing.getCapability(caps[0], null));
+			}
+			Capability<? extends DDDCapabilityBase<? extends NBTBase>> memoized = this.memo.get(type);
+			if(memoized != null) {
+				DDDCapabilityBase<? extends NBTBase> result = thing.getCapability(memoized, null);
+				if(result != null) {
+					return Optional.of(result);
+				}
+			}
+			int last = caps.length - 1;
+			for(int i = 0; i < last; i++) {
+				if(thing.hasCapability(caps[i], null)) {
+					this.memo.put(type, caps[i]);
+					return Optional.ofNullable(thing.getCapability(caps[i], null));
+				}
+			}
+			// the fallback isn't memoized, so other providers of the same type that do
+			// have an integration capability still find it.
+			return Optional.ofNullable(thing.getCapability(caps[last], null));
+		}
+
+		void invalidate() {
+			this.compiled = null;
+			this.memo.clear();
+		}
+
+		@SuppressWarnings("unchecked")
+		private Capability<? extends DDDCapabilityBase<? extends NBTBase>>[] getCompiled() {
+			Capability<? extends DDDCapabilityBase<? extends NBTBase>>[] caps = this.compiled;
+			if(caps == null) {
+				Collection<Capability<? extends DDDCapabilityBase<? extends NBTBase>>> registered = DistinctDamageDescriptionsAPIImpl.this.caps.get(this.kind).get(this.clazz);
+				caps = registered.toArray(new Capability[registered.size() + 1]);
+				caps[registered.size()] = this.fallback.get();
+				this.compiled = caps;
+			}
+			return caps;
+		}
+	}
 
 	/************
 	 * ACCESSOR *
@@ -60,25 +151,25 @@ public enum DistinctDamageDescriptionsAPIImpl implements IDistinctDamageDescript
 
 	@Override
 	public Optional<IDamageDistribution> getDamageDistribution(@Nullable ItemStack stack) {
-		return this.findCaps(ITEM, stack, IDamageDistribution.class, DamageDistribution.cap).map((c) -> ((IDamageDistribution) c).update(stack));
+		return this.itemDamage.find(stack, stack == null ? null : stack.getItem()).map((c) -> ((IDamageDistribution) c).update(stack));
 	}
 
 	@Override
 	public Optional<IDamageDistribution> getDamageDistribution(@Nullable EntityLivingBase entity) {
-		return this.findCaps(ENTITY, entity, IDamageDistribution.class, DamageDistribution.cap).map((c) -> ((IDamageDistribution) c).update(entity));
+		return this.entityDamage.find(entity, entity == null ? null : entity.getClass()).map((c) -> ((IDamageDistribution) c).update(entity));
 	}
 
 	@Override
 	public Optional<IDamageDistribution> getDamageDistribution(@Nullable IProjectile projectile) {
 		if(projectile != null && projectile instanceof Entity) {
-			return this.findCaps(PROJECTILE, (Entity) projectile, IDamageDistribution.class, DamageDistribution.cap).map((c) -> ((IDamageDistribution) c).update(projectile));
+			return this.projectileDamage.find((Entity) projectile, projectile.getClass()).map((c) -> ((IDamageDistribution) c).update(projectile));
 		}
 		return Optional.empty();
 	}
 
 	@Override
 	public Optional<IArmorDistribution> getArmorResistances(@Nullable ItemStack stack) {
-		return this.findCaps(ITEM, stack, IArmorDistribution.class, ArmorDistribution.cap).map((c) -> ((IArmorDistribution) c).update(stack));
+		return this.itemArmor.find(stack, stack == null ? null : stack.getItem()).map((c) -> ((IArmorDistribution) c).update(stack));
 	}
 
 	@Override
@@ -93,11 +184,7 @@ public enum DistinctDamageDescriptionsAPIImpl implements IDistinctDamageDescript
 
 	@Override
 	public Optional<ShieldDistribution> getShieldDistribution(@Nullable ItemStack stack) {
-		return this.findCaps(ITEM, stack, ShieldDistribution.class, ShieldDistribution.cap).map((c) -> ((ShieldDistribution) c).update(stack));
-	}
-
-	private Optional<? extends DDDCapabilityBase<? extends NBTBase>> findCaps(String type, ICapabilityProvider thing, Class<? extends DDDCapabilityBase<? extends NBTBase>> cap, Capability<? extends DDDCapabilityBase<? extends NBTBase>> fallback) {
-		return this.caps.get(type).get(cap).stream().filter((c) -> thing.hasCapability(c, null)).findFirst().<Optional<? extends DDDCapabilityBase<? extends NBTBase>>>map((c) -> getDDDCap(c, thing)).orElseGet(() -> getDDDCap(fallback, thing));
+		return this.itemShield.find(stack, stack == null ? null : stack.getItem()).map((c) -> ((ShieldDistribution) c).update(stack));
 	}
 
 	private static <Cap extends DDDCapabilityBase<? extends NBTBase>> Optional<Cap> getDDDCap(Capability<Cap> cap, ICapabilityProvider thing) {
@@ -138,6 +225,19 @@ public enum DistinctDamageDescriptionsAPIImpl implements IDistinctDamageDescript
 		return false;
 	}
 
+	@Override
+	public int attackEntitiesFrom(DamageSource src, float amount, Iterable<? extends EntityLivingBase> targets) {
+		// Attacker side classification is memoized per tick, so every target after
+		// the first reuses it.
+		int damaged = 0;
+		for(EntityLivingBase target : targets) {
+			if(target.attackEntityFrom(src, amount)) {
+				damaged++;
+			}
+		}
+		return damaged;
+	}
+
 	@Override
 	public <T extends DDDCapabilityBase<? extends NBTBase>> void registerItemCap(Class<T> clazz, Capability<? extends T> cap) {
 		this.registerCap(ITEM, clazz, cap);
@@ -155,5 +255,6 @@ public enum DistinctDamageDescriptionsAPIImpl implements IDistinctDamageDescript
 
 	private final <T extends DDDCapabilityBase<? extends NBTBase>> void registerCap(String key, Class<T> clazz, Capability<? extends T> cap) {
 		this.caps.get(key).put(clazz, cap);
+		this.lookups.forEach(CapLookup::invalidate);
 	}
 }
\ No newline at end of file
@@ -21,6 +21,20 @@ public interface IArmorDistribution extends IDistribution {
 	 */
 	ArmorMap distributeArmor(float armor, float toughness);
 
+	/**
+	 * Distribute armor points into damage categories, adding them to an existing
+	 * map.
+	 * 
+	 * @param armor
+	 * @param toughness
+	 * @param into      the map to add the distributed armor and toughness to
+	 * @return {@code into}
+	 */
+	default ArmorMap distributeArmor(float armor, float toughness, ArmorMap into) {
+		into.addAll(this.distributeArmor(armor, toughness));
+		return into;
+	}
+
 	@Override
 	IArmorDistribution copy();
 
@@ -24,6 +24,21 @@ public interface IDamageDistribution extends IDistribution {
 	 */
 	DamageMap distributeDamage(float dmg);
 
+	/**
+	 * Distribute damage across all categories into an existing map. The map is
+	 * cleared first. This lets callers that distribute damage often reuse the
+	 * same map.
+	 * 
+	 * @param dmg  damage
+	 * @param into the map to distribute into
+	 * @return {@code into}, with {@code dmg} distributed across all categories
+	 */
+	default DamageMap distributeDamage(float dmg, DamageMap into) {
+		into.clear();
+		into.putAll(this.distributeDamage(dmg));
+		return into;
+	}
+
 	@Override
 	IDamageDistribution copy();
 
@@ -51,6 +51,19 @@ public interface IDamageResistances extends ISyncableCapability<NBTTagCompound>
 	 */
 	void clearImmunities();
 
+	/**
+	 * Get this instance's version. The version changes whenever a resistance or
+	 * immunity reported by this instance changes, so values derived from it can be
+	 * cached until the version moves on.
+	 * 
+	 * @return the current version, or a negative number if this instance doesn't
+	 *         track versions. Values derived from unversioned instances must not be
+	 *         cached.
+	 */
+	default long getVersion() {
+		return -1;
+	}
+
 	/**
 	 * Copy this instance
 	 * 
@@ -68,7 +81,9 @@ public interface IDamageResistances extends ISyncableCapability<NBTTagCompound>
 
 	default ResistMap getAllResistances() {
 		ResistMap rMap = new ResistMap();
-		DDDRegistries.damageTypes.getAll().forEach((t) -> rMap.put(t, this.getResistance(t)));
+		for(int i = 0, size = DDDRegistries.damageTypes.size(); i < size; i++) {
+			rMap.setFloat(i, this.getResistance(DDDRegistries.damageTypes.getByOrdinal(i)));
+		}
 		return rMap;
 	}
 
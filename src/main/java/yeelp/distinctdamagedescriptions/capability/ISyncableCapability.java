@@ -4,7 +4,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTBase;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
-import yeelp.distinctdamagedescriptions.handlers.PacketHandler;
+import yeelp.distinctdamagedescriptions.util.DDDSyncScheduler;
 
 /**
  * A capability that can be synced to players.
@@ -23,13 +23,14 @@ public interface ISyncableCapability<NBT extends NBTBase> extends DDDCapabilityB
 	IMessage getIMessage();
 
 	/**
-	 * Sync capability to this player.
+	 * Sync capability to this player. The sync is sent at the end of the server
+	 * tick, and multiple syncs of the same capability in one tick are sent once.
 	 * 
 	 * @param player
 	 */
 	default void sync(EntityPlayer player) {
 		if(!player.world.isRemote) {
-			PacketHandler.INSTANCE.sendTo(this.getIMessage(), (EntityPlayerMP) player);
+			DDDSyncScheduler.schedule(this, (EntityPlayerMP) player);
 		}
 	}
 }
@@ -3,10 +3,12 @@ package yeelp.distinctdamagedescriptions.capability.distributors;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.Tuple;
+import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
 import yeelp.distinctdamagedescriptions.config.IDDDConfiguration;
 
@@ -24,11 +26,28 @@ public abstract class AbstractCapabilityDistributor<T, U, C extends DDDCapabilit
 
 	public abstract boolean isApplicable(T t);
 
+	final ResourceLocation getLocation() {
+		return this.loc;
+	}
+
 	public final Tuple<ResourceLocation, C> getResourceLocationAndCapability(@Nonnull T t, @Nonnull String key) {
 		return new Tuple<ResourceLocation, C>(this.loc, this.getCapability(Objects.requireNonNull(t, "Can't get capability for null!"), Objects.requireNonNull(key, "Can't get capability with null ResourceLocation!")));
 	}
 
 	protected abstract C getCapability(@Nonnull T t, @Nonnull String key);
 
+	/**
+	 * Get the capability the capabilities this distributes answer to. Item stack
+	 * capabilities are resolved lazily, and only queries for this capability
+	 * resolve them.
+	 * 
+	 * @return the capability, or null if unknown, in which case any DDD
+	 *         capability query resolves them.
+	 */
+	@Nullable
+	protected Capability<?> getCapabilityType() {
+		return null;
+	}
+
 	protected abstract IDDDConfiguration<U> getConfig();
 }
@@ -1,9 +1,10 @@
 package yeelp.distinctdamagedescriptions.capability.distributors;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.util.ResourceLocation;
 import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
-import yeelp.distinctdamagedescriptions.config.IDDDConfiguration;
 import yeelp.distinctdamagedescriptions.config.ModConfig;
 
 public abstract class AbstractCapabilityDistributorGeneratable<T, U, C extends DDDCapabilityBase<? extends NBTBase>> extends AbstractCapabilityDistributor<T, U, C> {
@@ -14,18 +15,33 @@ public abstract class AbstractCapabilityDistributorGeneratable<T, U, C extends D
 
 	@Override
 	protected final C getCapability(T t, String key) {
-		IDDDConfiguration<U> config = this.getConfig();
-		if(config.configured(key)) {
-			return this.createCapability(config.get(key));
+		U configured = this.getConfigured(t, key);
+		if(configured != null) {
+			return this.createCapability(configured);
 		}
 		else if(ModConfig.core.generateStats) {
 			return this.generateCapability(t, new ResourceLocation(key));
 		}
 		else {
-			return this.createCapability(config.getDefaultValue());
+			return this.createCapability(this.getConfig().getDefaultValue());
 		}
 	}
 
+	/**
+	 * Get the configured value for a key. By default, this queries the
+	 * configuration, but distributors with a faster way of finding configured
+	 * values can override it.
+	 * 
+	 * @param t   the object the capability is for
+	 * @param key the object's key
+	 * @return the configured value, or null if not configured. Passed to
+	 *         {@link #createCapability(Object)}, which must not modify it.
+	 */
+	@Nullable
+	protected U getConfigured(T t, String key) {
+		return this.getConfig().get(key);
+	}
+
 	protected abstract C generateCapability(T t, ResourceLocation key);
 
 	protected abstract C createCapability(U configResult);
@@ -3,10 +3,14 @@ package yeelp.distinctdamagedescriptions.capability.distributors;
 import net.minecraft.item.ItemArmor;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.ModConsts;
 import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.ArmorDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.Distribution;
 import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.IDDDConfiguration;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 import yeelp.distinctdamagedescriptions.util.ConfigGenerator;
 
 public final class ArmorDistributionCapabilityDistributor extends AbstractCapabilityDistributorGeneratable<ItemStack, IArmorDistribution, IArmorDistribution> {
@@ -19,7 +23,7 @@ public final class ArmorDistributionCapabilityDistributor extends AbstractCapabi
 
 	@Override
 	protected IArmorDistribution generateCapability(ItemStack t, ResourceLocation key) {
-		return ConfigGenerator.getOrGenerateArmorResistances((ItemArmor) t.getItem(), t);
+		return ConfigGenerator.getOrGenerateArmorResistances((ItemArmor) t.getItem(), t).copy();
 	}
 
 	@Override
@@ -32,9 +36,19 @@ public final class ArmorDistributionCapabilityDistributor extends AbstractCapabi
 		return DDDConfigurations.armors;
 	}
 
+	@Override
+	protected IArmorDistribution getConfigured(ItemStack t, String key) {
+		return ResolvedItemProfile.of(t.getItem()).getArmorDistribution();
+	}
+
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return ArmorDistribution.cap;
+	}
+
 	@Override
 	protected IArmorDistribution createCapability(IArmorDistribution configResult) {
-		return configResult;
+		return Distribution.asConfigured(configResult.copy());
 	}
 
 	public static final ArmorDistributionCapabilityDistributor getInstance() {
@@ -22,7 +22,7 @@ import yeelp.distinctdamagedescriptions.capability.IDistribution;
 import yeelp.distinctdamagedescriptions.capability.distributors.DamageDistributionCapabilityDistributor.ForEntity;
 import yeelp.distinctdamagedescriptions.capability.distributors.DamageDistributionCapabilityDistributor.ForItem;
 import yeelp.distinctdamagedescriptions.capability.distributors.DamageDistributionCapabilityDistributor.ForProjectile;
-import yeelp.distinctdamagedescriptions.util.lib.YResources;
+import yeelp.distinctdamagedescriptions.config.ResolvedEntityProfile;
 
 public final class DDDCapabilityDistributors {
 	private DDDCapabilityDistributors() {
@@ -48,16 +48,27 @@ public final class DDDCapabilityDistributors {
 		mobCaps.add(distributor);
 	}
 
-	public static Map<ResourceLocation, ? extends DDDCapabilityBase<? extends NBTBase>> getCapabilities(ItemStack stack) {
-		return getAllCaps(stack, YResources.getRegistryString(stack), BASE_ITEM_CAPS, itemCaps);
+	/**
+	 * Get the capabilities for an item stack. The capabilities aren't resolved
+	 * until they're first asked for.
+	 * 
+	 * @param stack the stack
+	 * @return a map of capabilities to attach
+	 * @see LazyItemCapability
+	 */
+	public static Map<ResourceLocation, LazyItemCapability> getCapabilities(ItemStack stack) {
+		Map<ResourceLocation, LazyItemCapability> caps = Maps.newHashMap();
+		BASE_ITEM_CAPS.forEach((d) -> getLazyCap(stack, d, caps));
+		itemCaps.forEach((d) -> getLazyCap(stack, d, caps));
+		return caps;
 	}
 
 	public static Optional<Map<ResourceLocation, ? extends DDDCapabilityBase<? extends NBTBase>>> getCapabilities(IProjectile projectile) {
-		return YResources.getEntityIDString((Entity) projectile).map((s) -> getAllCaps(projectile, s, BASE_PROJ_CAPS, projCaps));
+		return ResolvedEntityProfile.of((Entity) projectile).getKey().map((s) -> getAllCaps(projectile, s, BASE_PROJ_CAPS, projCaps));
 	}
 
 	public static Optional<Map<ResourceLocation, ? extends DDDCapabilityBase<? extends NBTBase>>> getCapabilities(EntityLivingBase entity) {
-		return YResources.getEntityIDString(entity).map((s) -> getAllCaps(entity, s, BASE_MOB_CAPS, mobCaps));
+		return ResolvedEntityProfile.of(entity).getKey().map((s) -> getAllCaps(entity, s, BASE_MOB_CAPS, mobCaps));
 	}
 
 	public static Map<ResourceLocation, DDDCapabilityBase<? extends NBTBase>> getPlayerCapabilities(EntityPlayer player) {
@@ -71,6 +82,12 @@ public final class DDDCapabilityDistributors {
 		}
 	}
 
+	private static void getLazyCap(ItemStack stack, AbstractCapabilityDistributor<ItemStack, ?, ? extends IDistribution> distributor, Map<ResourceLocation, LazyItemCapability> caps) {
+		if(distributor.isApplicable(stack)) {
+			caps.put(distributor.getLocation(), new LazyItemCapability(stack, distributor));
+		}
+	}
+
 	private static <T, V extends DDDCapabilityBase<? extends NBTBase>> Map<ResourceLocation, V> getAllCaps(T t, String key, List<AbstractCapabilityDistributorGeneratable<T, ?, ? extends V>> baseCaps, List<AbstractCapabilityDistributor<T, ?, ? extends V>> extraCaps) {
 		Map<ResourceLocation, V> caps = Maps.newHashMap();
 		baseCaps.forEach((d) -> getCaps(t, key, d, caps::put));
@@ -1,5 +1,6 @@
 package yeelp.distinctdamagedescriptions.capability.distributors;
 
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IProjectile;
 import net.minecraft.item.Item;
@@ -8,10 +9,15 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemSword;
 import net.minecraft.item.ItemTool;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.ModConsts;
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.DamageDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.Distribution;
 import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.IDDDConfiguration;
+import yeelp.distinctdamagedescriptions.config.ResolvedEntityProfile;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 import yeelp.distinctdamagedescriptions.util.ConfigGenerator;
 
 public abstract class DamageDistributionCapabilityDistributor<T> extends AbstractCapabilityDistributorGeneratable<T, IDamageDistribution, IDamageDistribution> {
@@ -32,7 +38,12 @@ public abstract class DamageDistributionCapabilityDistributor<T> extends Abstrac
 
 	@Override
 	protected IDamageDistribution createCapability(IDamageDistribution configResult) {
-		return configResult;
+		return Distribution.asConfigured(configResult.copy());
+	}
+
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return DamageDistribution.cap;
 	}
 
 	public static final class ForEntity extends DamageDistributionCapabilityDistributor<EntityLivingBase> {
@@ -44,9 +55,15 @@ public abstract class DamageDistributionCapabilityDistributor<T> extends Abstrac
 			return DDDConfigurations.mobDamage;
 		}
 
+		@Override
+		protected IDamageDistribution getConfigured(EntityLivingBase t, String key) {
+			ResolvedEntityProfile profile = ResolvedEntityProfile.of(t);
+			return profile.isFor(key) ? profile.getMobDamage() : super.getConfigured(t, key);
+		}
+
 		@Override
 		protected IDamageDistribution generateCapability(EntityLivingBase t, ResourceLocation key) {
-			return ConfigGenerator.getOrGenerateMobDamage(t, key);
+			return ConfigGenerator.getOrGenerateMobDamage(t, key).copy();
 		}
 
 		public static final ForEntity getInstance() {
@@ -62,16 +79,16 @@ public abstract class DamageDistributionCapabilityDistributor<T> extends Abstrac
 		protected IDamageDistribution generateCapability(ItemStack t, ResourceLocation key) {
 			Item i = t.getItem();
 			if(i instanceof ItemSword) {
-				return ConfigGenerator.getOrGenerateWeaponCapabilities((ItemSword) i, t);
+				return ConfigGenerator.getOrGenerateWeaponCapabilities((ItemSword) i, t).copy();
 			}
 			else if(i instanceof ItemTool) {
-				return ConfigGenerator.getOrGenerateWeaponCapabilities((ItemTool) i, t);
+				return ConfigGenerator.getOrGenerateWeaponCapabilities((ItemTool) i, t).copy();
 			}
 			else if(i instanceof ItemHoe) {
-				return ConfigGenerator.getOrGenerateWeaponCapabilities((ItemHoe) i, t);
+				return ConfigGenerator.getOrGenerateWeaponCapabilities((ItemHoe) i, t).copy();
 			}
 			else {
-				return this.getConfig().getDefaultValue();
+				return this.createCapability(this.getConfig().getDefaultValue());
 			}
 		}
 
@@ -80,6 +97,11 @@ public abstract class DamageDistributionCapabilityDistributor<T> extends Abstrac
 			return DDDConfigurations.items;
 		}
 
+		@Override
+		protected IDamageDistribution getConfigured(ItemStack t, String key) {
+			return ResolvedItemProfile.of(t.getItem()).getDamageDistribution();
+		}
+
 		public static final ForItem getInstance() {
 			return instance == null ? instance = new ForItem() : instance;
 		}
@@ -96,7 +118,7 @@ public abstract class DamageDistributionCapabilityDistributor<T> extends Abstrac
 
 		@Override
 		protected IDamageDistribution generateCapability(IProjectile t, ResourceLocation key) {
-			return ConfigGenerator.getOrGenerateProjectileDistribution(t, key);
+			return ConfigGenerator.getOrGenerateProjectileDistribution(t, key).copy();
 		}
 
 		@Override
@@ -104,6 +126,12 @@ public abstract class DamageDistributionCapabilityDistributor<T> extends Abstrac
 			return DDDConfigurations.projectiles;
 		}
 
+		@Override
+		protected IDamageDistribution getConfigured(IProjectile t, String key) {
+			ResolvedEntityProfile profile = ResolvedEntityProfile.of((Entity) t);
+			return profile.isFor(key) ? profile.getProjectileDistribution() : super.getConfigured(t, key);
+		}
+
 		public static final ForProjectile getInstance() {
 			return instance == null ? instance = new ForProjectile() : instance;
 		}
@@ -0,0 +1,117 @@
+package yeelp.distinctdamagedescriptions.capability.distributors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
+import yeelp.distinctdamagedescriptions.capability.IDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.Distribution;
+import yeelp.distinctdamagedescriptions.config.ModConfig;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation.Stage;
+
+/**
+ * An item capability that isn't resolved until something first asks an item
+ * stack for a DDD capability. Most stacks, like the ones made for recipe
+ * matching, JEI or rendering, are never asked, so they skip the registry and
+ * config lookups entirely. Only queries for the capability its distributor
+ * provides resolve it; Forge asks every provider on a stack, so a query for one
+ * DDD capability shouldn't resolve all of them.
+ * <p>
+ * NBT read before resolution is held until the capability is resolved. With
+ * compact capability NBT enabled, an unresolved capability serializes to the
+ * compact form, like a resolved one that still has its configured value.
+ * Otherwise it's resolved to be serialized, since Forge compares serialized
+ * capabilities to decide if stacks can merge.
+ *
+ * @author Yeelp
+ *
+ */
+public final class LazyItemCapability implements ICapabilitySerializable<NBTTagList> {
+	private static final Map<Capability<?>, Boolean> DDD_CAPS = new ConcurrentHashMap<Capability<?>, Boolean>();
+	private final ItemStack stack;
+	private final AbstractCapabilityDistributor<ItemStack, ?, ? extends IDistribution> distributor;
+	private IDistribution cap;
+	private NBTTagList pending;
+
+	LazyItemCapability(ItemStack stack, AbstractCapabilityDistributor<ItemStack, ?, ? extends IDistribution> distributor) {
+		this.stack = stack;
+		this.distributor = distributor;
+	}
+
+	@Override
+	public boolean hasCapability(Capability<?> capability, EnumFacing facing) {
+		return this.provides(capability) && this.resolve().hasCapability(capability, facing);
+	}
+
+	@Override
+	public <T> T getCapability(Capability<T> capability, EnumFacing facing) {
+		return this.provides(capability) ? this.resolve().getCapability(capability, facing) : null;
+	}
+
+	@Override
+	public NBTTagList serializeNBT() {
+		if(this.pending != null) {
+			return this.pending.copy();
+		}
+		else if(this.cap == null && ModConfig.core.compactCapabilityNBT) {
+			return Distribution.compactNBT();
+		}
+		return this.resolve().serializeNBT();
+	}
+
+	@Override
+	public void deserializeNBT(NBTTagList nbt) {
+		if(this.cap != null) {
+			this.cap.deserializeNBT(nbt);
+		}
+		else {
+			this.pending = nbt.hasNoTags() || Distribution.isCurrentCompactNBT(nbt) ? null : nbt;
+		}
+	}
+
+	private IDistribution resolve() {
+		if(this.cap == null) {
+			long start = DDDInstrumentation.start();
+			this.cap = this.distributor.getCapability(this.stack, ResolvedItemProfile.of(this.stack.getItem()).getKey());
+			if(this.pending != null) {
+				this.cap.deserializeNBT(this.pending);
+				this.pending = null;
+			}
+			DDDInstrumentation.record(Stage.ITEM_CAPABILITIES, start);
+		}
+		return this.cap;
+	}
+
+	private boolean provides(Capability<?> capability) {
+		Capability<?> type = this.distributor.getCapabilityType();
+		return type == null ? isDDDCapability(capability) : capability == type;
+	}
+
+	private static boolean isDDDCapability(Capability<?> capability) {
+		if(capability == null) {
+			return false;
+		}
+		Boolean ddd = DDD_CAPS.get(capability);
+		if(ddd == null) {
+			DDD_CAPS.put(capability, ddd = isDDDCapabilityUncached(capability));
+		}
+		return ddd;
+	}
+
+	private static boolean isDDDCapabilityUncached(Capability<?> capability) {
+		try {
+			return capability.getDefaultInstance() instanceof DDDCapabilityBase;
+		}
+		catch(RuntimeException e) {
+			// some capabilities have no default instance.
+			return false;
+		}
+	}
+}
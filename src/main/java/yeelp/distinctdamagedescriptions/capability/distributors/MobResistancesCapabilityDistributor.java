@@ -7,6 +7,7 @@ import yeelp.distinctdamagedescriptions.capability.IMobResistances;
 import yeelp.distinctdamagedescriptions.capability.impl.MobResistances;
 import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.IDDDConfiguration;
+import yeelp.distinctdamagedescriptions.config.ResolvedEntityProfile;
 import yeelp.distinctdamagedescriptions.util.ConfigGenerator;
 import yeelp.distinctdamagedescriptions.util.MobResistanceCategories;
 
@@ -20,7 +21,7 @@ public final class MobResistancesCapabilityDistributor extends AbstractCapabilit
 
 	@Override
 	protected IMobResistances generateCapability(EntityLivingBase t, ResourceLocation key) {
-		return ConfigGenerator.getOrGenerateMobResistances(t, key);
+		return ConfigGenerator.getOrGenerateMobResistances(t, key).copy();
 	}
 
 	@Override
@@ -33,9 +34,17 @@ public final class MobResistancesCapabilityDistributor extends AbstractCapabilit
 		return DDDConfigurations.mobResists;
 	}
 
+	@Override
+	protected MobResistanceCategories getConfigured(EntityLivingBase t, String key) {
+		ResolvedEntityProfile profile = ResolvedEntityProfile.of(t);
+		return profile.isFor(key) ? profile.getMobResistances() : super.getConfigured(t, key);
+	}
+
 	@Override
 	protected IMobResistances createCapability(MobResistanceCategories configResult) {
-		return new MobResistances(configResult.getResistanceMap(), configResult.getImmunities(), Math.random() < configResult.adaptiveChance(), configResult.getAdaptiveAmount());
+		MobResistances resists = new MobResistances(configResult, Math.random() < configResult.adaptiveChance(), configResult.getAdaptiveAmount());
+		resists.markConfigured();
+		return resists;
 	}
 
 	public static final MobResistancesCapabilityDistributor getInstance() {
@@ -3,10 +3,13 @@ package yeelp.distinctdamagedescriptions.capability.distributors;
 import net.minecraft.item.ItemShield;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.ModConsts;
+import yeelp.distinctdamagedescriptions.capability.impl.Distribution;
 import yeelp.distinctdamagedescriptions.capability.impl.ShieldDistribution;
 import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.IDDDConfiguration;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 import yeelp.distinctdamagedescriptions.util.ConfigGenerator;
 
 public final class ShieldDistributionCapabilityDistributor extends AbstractCapabilityDistributorGeneratable<ItemStack, ShieldDistribution, ShieldDistribution> {
@@ -19,7 +22,7 @@ public final class ShieldDistributionCapabilityDistributor extends AbstractCapab
 
 	@Override
 	protected ShieldDistribution generateCapability(ItemStack t, ResourceLocation key) {
-		return ConfigGenerator.getOrGenerateShieldDistribution((ItemShield) t.getItem(), t);
+		return ConfigGenerator.getOrGenerateShieldDistribution((ItemShield) t.getItem(), t).copy();
 	}
 
 	@Override
@@ -32,9 +35,19 @@ public final class ShieldDistributionCapabilityDistributor extends AbstractCapab
 		return DDDConfigurations.shields;
 	}
 
+	@Override
+	protected ShieldDistribution getConfigured(ItemStack t, String key) {
+		return ResolvedItemProfile.of(t.getItem()).getShieldDistribution();
+	}
+
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return ShieldDistribution.cap;
+	}
+
 	@Override
 	protected ShieldDistribution createCapability(ShieldDistribution configResult) {
-		return configResult;
+		return Distribution.asConfigured(configResult.copy());
 	}
 
 	public static final ShieldDistributionCapabilityDistributor getInstance() {
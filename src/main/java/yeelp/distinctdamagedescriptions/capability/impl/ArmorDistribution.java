@@ -1,6 +1,7 @@
 package yeelp.distinctdamagedescriptions.capability.impl;
 
 import java.util.Map;
+import java.util.Map.Entry;
 
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
@@ -10,7 +11,6 @@ import net.minecraftforge.common.capabilities.CapabilityInject;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
 import yeelp.distinctdamagedescriptions.util.ArmorMap;
-import yeelp.distinctdamagedescriptions.util.ArmorValues;
 import yeelp.distinctdamagedescriptions.util.lib.NonNullMap;
 
 public class ArmorDistribution extends Distribution implements IArmorDistribution {
@@ -31,6 +31,10 @@ public class ArmorDistribution extends Distribution implements IArmorDistributio
 		super(resistMap);
 	}
 
+	protected ArmorDistribution(ArmorDistribution other) {
+		super(other);
+	}
+
 	@Override
 	public boolean hasCapability(Capability<?> capability, EnumFacing facing) {
 		return capability == cap;
@@ -43,12 +47,26 @@ public class ArmorDistribution extends Distribution implements IArmorDistributio
 
 	@Override
 	public ArmorMap distributeArmor(float armor, float toughness) {
-		return super.distribute(new ArmorMap(), (f) -> new ArmorValues(armor * f, toughness * f));
+		ArmorMap map = new ArmorMap();
+		for(Entry<DDDDamageType, Float> entry : this.getWeightMap().entrySet()) {
+			float weight = entry.getValue();
+			map.set(entry.getKey(), armor * weight, toughness * weight);
+		}
+		return map;
+	}
+
+	@Override
+	public ArmorMap distributeArmor(float armor, float toughness, ArmorMap into) {
+		for(Entry<DDDDamageType, Float> entry : this.getWeightMap().entrySet()) {
+			float weight = entry.getValue();
+			into.add(entry.getKey(), armor * weight, toughness * weight);
+		}
+		return into;
 	}
 
 	@Override
 	public IArmorDistribution copy() {
-		return new ArmorDistribution(super.copyMap(0));
+		return new ArmorDistribution(this);
 	}
 
 	@Override
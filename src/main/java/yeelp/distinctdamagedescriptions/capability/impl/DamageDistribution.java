@@ -3,7 +3,6 @@ package yeelp.distinctdamagedescriptions.capability.impl;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.stream.Stream;
 
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IProjectile;
@@ -39,18 +38,22 @@ public class DamageDistribution extends Distribution implements IDamageDistribut
 	@SafeVarargs
 	public DamageDistribution(Tuple<DDDDamageType, Float>... weights) {
 		super(weights);
-		if(invariantViolated(this.distMap.values())) {
+		if(invariantViolated(this.getWeightMap().values())) {
 			throw new InvariantViolationException("weights are negative or do not add to 1!");
 		}
 	}
 
 	public DamageDistribution(Map<DDDDamageType, Float> weightMap) {
 		super(weightMap);
-		if(invariantViolated(this.distMap.values())) {
+		if(invariantViolated(this.getWeightMap().values())) {
 			throw new InvariantViolationException("weights are negative or do not add to 1!");
 		}
 	}
 
+	protected DamageDistribution(DamageDistribution other) {
+		super(other);
+	}
+
 	@Override
 	public boolean hasCapability(Capability<?> capability, EnumFacing facing) {
 		return capability == cap;
@@ -63,20 +66,33 @@ public class DamageDistribution extends Distribution implements IDamageDistribut
 
 	@Override
 	public DamageMap distributeDamage(float dmg) {
-		if(ModConfig.core.useCustomDamageTypes || this.distMap.keySet().stream().filter((k) -> k.isCustomDamage()).count() == 0) {
-			return super.distribute(new DamageMap(), (f) -> f * dmg);
+		return this.distributeDamage(dmg, new DamageMap());
+	}
+
+	@Override
+	public DamageMap distributeDamage(float dmg, DamageMap map) {
+		map.clear();
+		boolean hasCustomTypes = false;
+		int regularTypes = 0;
+		float lostWeight = 0.0f;
+		if(!ModConfig.core.useCustomDamageTypes) {
+			for(Entry<DDDDamageType, Float> entry : this.getWeightMap().entrySet()) {
+				if(entry.getKey().isCustomDamage()) {
+					hasCustomTypes = true;
+					lostWeight += entry.getValue();
+				}
+				else {
+					regularTypes++;
+				}
+			}
 		}
-		Stream<Entry<DDDDamageType, Float>> stream = this.distMap.entrySet().stream();
-		long regularTypes = stream.filter((e) -> !e.getKey().isCustomDamage()).count();
-		if(regularTypes == 0) {
-			return DDDBuiltInDamageType.BLUDGEONING.getBaseDistribution().distributeDamage(dmg);
+		if(hasCustomTypes && regularTypes == 0) {
+			return DDDBuiltInDamageType.BLUDGEONING.getBaseDistribution().distributeDamage(dmg, map);
 		}
-		DamageMap map = new DamageMap();
-		float lostWeight = stream.map((e) -> e.getKey().isCustomDamage() ? e.getValue() : 0.0f).reduce(0.0f, (u, v) -> u + v, (u, v) -> u + v);
-		float weightToAdd = lostWeight / regularTypes;
-		for(Entry<DDDDamageType, Float> entry : this.distMap.entrySet()) {
-			if(!entry.getKey().isCustomDamage()) {
-				map.put(entry.getKey(), (entry.getValue() + weightToAdd) * dmg);
+		float weightToAdd = hasCustomTypes ? lostWeight / regularTypes : 0.0f;
+		for(Entry<DDDDamageType, Float> entry : this.getWeightMap().entrySet()) {
+			if(!hasCustomTypes || !entry.getKey().isCustomDamage()) {
+				map.setFloat(entry.getKey(), (entry.getValue() + weightToAdd) * dmg);
 			}
 		}
 		return map;
@@ -84,7 +100,7 @@ public class DamageDistribution extends Distribution implements IDamageDistribut
 
 	@Override
 	public IDamageDistribution copy() {
-		return new DamageDistribution(super.copyMap(0));
+		return new DamageDistribution(this);
 	}
 
 	@Override
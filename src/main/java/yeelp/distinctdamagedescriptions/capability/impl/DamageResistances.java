@@ -1,20 +1,28 @@
 package yeelp.distinctdamagedescriptions.capability.impl;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
+import net.minecraft.network.PacketBuffer;
+import yeelp.distinctdamagedescriptions.DistinctDamageDescriptions;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.capability.IDamageResistances;
+import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
+import yeelp.distinctdamagedescriptions.config.ModConfig;
 import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
 import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
+import yeelp.distinctdamagedescriptions.util.DamageTypeSet;
+import yeelp.distinctdamagedescriptions.util.ResistanceCategories;
 
 /**
  * Base capability for damage resistance capabilities
@@ -23,12 +31,57 @@ import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
  *
  */
 public abstract class DamageResistances implements IDamageResistances {
+	private static final String FORMAT = "format", PALETTE = "palette", VALUES = "values", IMMUNITIES = "immunityMask", CONFIG_EPOCH = "configEpoch";
+	private static final String LEGACY_RESISTANCES = "resistances", LEGACY_IMMUNITIES = "immunities";
+	private static final byte CURRENT_FORMAT = 1;
 	private DDDBaseMap<Float> resistances;
-	private Set<DDDDamageType> immunities;
+	private DamageTypeSet immunities;
+	private DamageTypeSet unsynced;
+	private long version;
+	private boolean configured, fullSync = true, shared;
+
+	/**
+	 * Resistances and immunities shared by instances until one of them changes.
+	 * Profiles are never modified, and the one for a set of resistance
+	 * categories is shared by every instance made from them, so mobs of the same
+	 * type hold one copy of their base resistances between them.
+	 *
+	 * @author Yeelp
+	 *
+	 */
+	static final class Profile {
+		private static final Map<ResistanceCategories, Profile> PROFILES = new MapMaker().weakKeys().makeMap();
+		final DDDBaseMap<Float> resistances;
+		final DamageTypeSet immunities;
+
+		private Profile(DDDBaseMap<Float> resistances, DamageTypeSet immunities) {
+			this.resistances = resistances;
+			this.immunities = immunities;
+		}
+
+		/**
+		 * Get the shared profile for some resistance categories
+		 *
+		 * @param categories the categories
+		 * @return the profile
+		 */
+		static Profile of(ResistanceCategories categories) {
+			return PROFILES.computeIfAbsent(categories, (c) -> {
+				DDDBaseMap<Float> map = c.getResistanceMap();
+				return new Profile(map.keySet().stream().collect(DDDBaseMap.typesToDDDBaseMap(() -> 0.0f, map::get)), new DamageTypeSet(c.getImmunities()));
+			});
+		}
+	}
 
 	DamageResistances(Map<DDDDamageType, Float> resistances, Collection<DDDDamageType> immunities) {
 		this.resistances = resistances.keySet().stream().collect(DDDBaseMap.typesToDDDBaseMap(() -> 0.0f, resistances::get));
-		this.immunities = new HashSet<DDDDamageType>(immunities);
+		this.immunities = new DamageTypeSet(immunities);
+	}
+
+	DamageResistances(Profile profile) {
+		this.resistances = profile.resistances;
+		this.immunities = profile.immunities;
+		this.shared = true;
 	}
 
 	@Override
@@ -43,58 +96,289 @@ public abstract class DamageResistances implements IDamageResistances {
 
 	@Override
 	public void setResistance(DDDDamageType type, float amount) {
+		this.own();
 		this.resistances.put(type, amount);
+		this.markUnsynced(type);
+		this.configured = false;
+		this.markChanged();
 	}
 
 	@Override
 	public void setImmunity(DDDDamageType type, boolean status) {
+		this.own();
 		if(status) {
 			this.immunities.add(type);
 		}
 		else {
 			this.immunities.remove(type);
 		}
+		this.markUnsynced(type);
+		this.configured = false;
+		this.markChanged();
 	}
 
 	@Override
 	public void clearImmunities() {
+		this.own();
+		this.immunities.forEach(this::markUnsynced);
 		this.immunities.clear();
+		this.configured = false;
+		this.markChanged();
+	}
+
+	@Override
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Bump this instance's version. Subclasses should call this whenever they
+	 * change what {@link #getResistance(DDDDamageType)} or
+	 * {@link #hasImmunity(DDDDamageType)} report.
+	 */
+	protected final void markChanged() {
+		this.version++;
+	}
+
+	/**
+	 * Stop sharing resistances and immunities with other instances, copying them
+	 * if they are shared. Must be called before modifying them.
+	 */
+	private void own() {
+		if(this.shared) {
+			this.resistances = this.copyMap();
+			this.immunities = this.immunities.copy();
+			this.shared = false;
+		}
+	}
+
+	/**
+	 * Share this instance's current resistances and immunities. Neither this
+	 * instance nor any instance made from the profile modifies them afterwards
+	 * without copying them first.
+	 * 
+	 * @return a profile of the current resistances and immunities
+	 */
+	final Profile share() {
+		this.shared = true;
+		return new Profile(this.resistances, this.immunities);
+	}
+
+	private void markUnsynced(DDDDamageType type) {
+		if(this.unsynced == null) {
+			this.unsynced = new DamageTypeSet();
+		}
+		this.unsynced.add(type);
+	}
+
+	/**
+	 * Mark this instance's resistances and immunities as the ones configured for
+	 * its holder. While compact capability NBT is enabled and they are unchanged,
+	 * they aren't serialized, and are kept as is when deserializing.
+	 */
+	public final void markConfigured() {
+		this.configured = true;
 	}
 
 	@Override
 	public NBTTagCompound serializeNBT() {
+		return this.serializeNBT(ModConfig.core.compactCapabilityNBT);
+	}
+
+	/**
+	 * Serialize this instance. Types are named once in a palette, resistances
+	 * are written as one int array of palette index and float bit pairs, and
+	 * immunities as a bitmask over the palette.
+	 * 
+	 * @param compact if true, resistances and immunities that are still as
+	 *                configured are left out, and only the config epoch is
+	 *                recorded.
+	 * @return the serialized NBT
+	 */
+	public NBTTagCompound serializeNBT(boolean compact) {
 		NBTTagCompound tag = new NBTTagCompound();
-		NBTTagList lst = new NBTTagList();
-		NBTTagList immunities = new NBTTagList();
-		for(Entry<DDDDamageType, Float> entry : this.resistances.entrySet()) {
-			NBTTagCompound compound = new NBTTagCompound();
-			compound.setString("type", entry.getKey().getTypeName());
-			compound.setFloat("amount", entry.getValue());
-			lst.appendTag(compound);
-		}
-		tag.setTag("resistances", lst);
-		for(DDDDamageType type : this.immunities) {
-			immunities.appendTag(new NBTTagString(type.getTypeName()));
-		}
-		tag.setTag("immunities", immunities);
+		TypePalette palette = new TypePalette();
+		if(!compact || !this.configured) {
+			int[] values = new int[2 * this.resistances.size()];
+			int i = 0;
+			for(Entry<DDDDamageType, Float> entry : this.resistances.entrySet()) {
+				values[i++] = palette.indexOf(entry.getKey());
+				values[i++] = Float.floatToIntBits(entry.getValue());
+			}
+			tag.setByte(FORMAT, CURRENT_FORMAT);
+			tag.setIntArray(VALUES, values);
+			tag.setIntArray(IMMUNITIES, palette.mask(this.immunities));
+		}
+		else {
+			tag.setInteger(CONFIG_EPOCH, DDDConfigurations.getEpoch());
+		}
+		this.writeTypes(tag, palette);
+		if(!palette.isEmpty()) {
+			tag.setTag(PALETTE, palette.toNBT());
+		}
 		return tag;
 	}
 
+	/**
+	 * Write any other damage types a subclass needs to save, using the same
+	 * palette as the resistances and immunities.
+	 * 
+	 * @param tag     the tag being serialized
+	 * @param palette the palette to refer to types with
+	 */
+	void writeTypes(NBTTagCompound tag, TypePalette palette) {
+		// nothing else to write by default.
+	}
+
+	/**
+	 * Read the damage types written by
+	 * {@link #writeTypes(NBTTagCompound, TypePalette)}
+	 * 
+	 * @param tag     the tag being deserialized
+	 * @param palette the tag's palette, as read by
+	 *                {@link TypePalette#fromNBT(NBTTagList)}
+	 */
+	void readTypes(NBTTagCompound tag, DDDDamageType[] palette) {
+		// nothing else to read by default.
+	}
+
 	@Override
 	public void deserializeNBT(NBTTagCompound tag) {
-		this.resistances = new DDDBaseMap<Float>(() -> 0.0f);
-		this.immunities = new HashSet<DDDDamageType>();
-		for(NBTBase nbt : tag.getTagList("resistances", new NBTTagCompound().getId())) {
+		DDDDamageType[] palette = TypePalette.fromNBT(tag.getTagList(PALETTE, new NBTTagString().getId()));
+		boolean legacy = tag.hasKey(LEGACY_RESISTANCES);
+		// compact tags have no values; keep the ones this instance was resolved with.
+		if(legacy || tag.hasKey(FORMAT)) {
+			this.configured = false;
+			this.shared = false;
+			this.resistances = new DDDBaseMap<Float>(() -> 0.0f);
+			this.immunities = new DamageTypeSet();
+			if(legacy) {
+				this.readLegacy(tag);
+			}
+			else {
+				int[] values = tag.getIntArray(VALUES);
+				for(int i = 0; i + 1 < values.length; i += 2) {
+					this.resistances.put(validateNonNull(TypePalette.get(palette, values[i])), Float.intBitsToFloat(values[i + 1]));
+				}
+				TypePalette.forEachInMask(tag.getIntArray(IMMUNITIES), palette, (type) -> this.immunities.add(validateNonNull(type)));
+			}
+			this.markChanged();
+		}
+		else if(tag.hasKey(CONFIG_EPOCH) && tag.getInteger(CONFIG_EPOCH) != DDDConfigurations.getEpoch()) {
+			DistinctDamageDescriptions.debug("Compact resistances were saved under a different config; using the current config's values.");
+		}
+		this.readTypes(tag, palette);
+		this.fullSync = true;
+	}
+
+	private void readLegacy(NBTTagCompound tag) {
+		for(NBTBase nbt : tag.getTagList(LEGACY_RESISTANCES, new NBTTagCompound().getId())) {
 			NBTTagCompound resist = (NBTTagCompound) nbt;
 			this.resistances.put(validateNonNull(DDDRegistries.damageTypes.get(resist.getString("type"))), resist.getFloat("amount"));
 		}
-		for(NBTBase nbt : tag.getTagList("immunities", new NBTTagString().getId())) {
+		for(NBTBase nbt : tag.getTagList(LEGACY_IMMUNITIES, new NBTTagString().getId())) {
 			this.immunities.add(validateNonNull(DDDRegistries.damageTypes.get(((NBTTagString) nbt).getString())));
 		}
 	}
 
+	/**
+	 * Only syncs if something changed since the last sync.
+	 */
+	@Override
+	public void sync(EntityPlayer player) {
+		if(this.hasUnsyncedChanges()) {
+			IDamageResistances.super.sync(player);
+		}
+	}
+
+	/**
+	 * Make the next sync send everything, not just what changed. Needed whenever
+	 * the client's copy may have been reset, like when a player logs in, respawns
+	 * or changes dimension.
+	 */
+	public final void requestFullSync() {
+		this.fullSync = true;
+	}
+
+	/**
+	 * Does the next sync need to send everything?
+	 * 
+	 * @return true if so
+	 */
+	protected final boolean needsFullSync() {
+		return this.fullSync;
+	}
+
+	/**
+	 * Has anything changed since the last sync?
+	 * 
+	 * @return true if something has
+	 */
+	boolean hasUnsyncedChanges() {
+		return this.fullSync || (this.unsynced != null && !this.unsynced.isEmpty());
+	}
+
+	/**
+	 * Mark everything as synced.
+	 */
+	void markSynced() {
+		this.fullSync = false;
+		this.unsynced = null;
+	}
+
+	/**
+	 * Write the resistances and immunities that changed since the last sync. Types
+	 * are written by name, since each side builds its damage type registry from
+	 * its own config, so ordinals may not agree.
+	 * 
+	 * @param buf the buffer to write to
+	 */
+	void writeDelta(PacketBuffer buf) {
+		if(this.unsynced == null) {
+			buf.writeVarInt(0);
+			return;
+		}
+		buf.writeVarInt(this.unsynced.size());
+		for(DDDDamageType type : this.unsynced) {
+			buf.writeString(type.getTypeName());
+			buf.writeFloat(this.resistances.get(type));
+			buf.writeBoolean(this.immunities.contains(type));
+		}
+	}
+
+	/**
+	 * Apply changes written by {@link #writeDelta(PacketBuffer)}. Types this side
+	 * doesn't know are skipped.
+	 * 
+	 * @param buf the buffer to read from
+	 */
+	void readDelta(PacketBuffer buf) {
+		int entries = buf.readVarInt();
+		// adaptive only deltas have no entries, and keep sharing the profile.
+		if(entries > 0) {
+			this.own();
+			this.configured = false;
+		}
+		for(int n = entries; n > 0; n--) {
+			DDDDamageType type = DDDRegistries.damageTypes.get(buf.readString(Short.MAX_VALUE));
+			float resistance = buf.readFloat();
+			boolean immune = buf.readBoolean();
+			if(type == null) {
+				continue;
+			}
+			this.resistances.put(type, resistance);
+			if(immune) {
+				this.immunities.add(type);
+			}
+			else {
+				this.immunities.remove(type);
+			}
+		}
+		this.markChanged();
+	}
+
 	protected Set<DDDDamageType> copyImmunities() {
-		return new HashSet<DDDDamageType>(this.immunities);
+		return this.immunities.copy();
 	}
 
 	protected DDDBaseMap<Float> copyMap() {
@@ -1,22 +1,107 @@
 package yeelp.distinctdamagedescriptions.capability.impl;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.function.Function;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.Tuple;
+import yeelp.distinctdamagedescriptions.DistinctDamageDescriptions;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.capability.IDistribution;
+import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.ModConfig;
 import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
+import yeelp.distinctdamagedescriptions.util.DamageTypeSet;
 import yeelp.distinctdamagedescriptions.util.lib.InvariantViolationException;
 
 public abstract class Distribution implements IDistribution {
-	protected DDDBaseMap<Float> distMap = new DDDBaseMap<Float>(() -> 0.0f);
+	private static final String CONFIG_EPOCH = "configEpoch";
+	private Weights weights = Weights.EMPTY;
+	private Weights configured;
+
+	/**
+	 * An immutable set of weights. Weights are interned, so every distribution
+	 * with the same weights shares one instance, along with its cached
+	 * categories, no matter how many item stacks or entities hold it.
+	 * Distributions never mutate their weights; they replace them.
+	 *
+	 * @author Yeelp
+	 *
+	 */
+	private static final class Weights {
+		private static final Interner<Weights> INTERNER = Interners.newWeakInterner();
+		static final Weights EMPTY = of(Collections.emptyMap());
+		private final DDDBaseMap<Float> map;
+		private final Map<DDDDamageType, Float> view;
+		private final int hash;
+		private volatile Set<DDDDamageType> categories, customCategories;
+
+		private Weights(DDDBaseMap<Float> map) {
+			this.map = map;
+			this.view = Collections.unmodifiableMap(map);
+			this.hash = map.hashCode();
+		}
+
+		/**
+		 * Get the canonical weights for a map. Only positive weights are kept.
+		 *
+		 * @param weights the weights
+		 * @return the shared instance with these weights
+		 */
+		static Weights of(Map<DDDDamageType, Float> weights) {
+			DDDBaseMap<Float> map = new DDDBaseMap<Float>(() -> 0.0f);
+			for(Entry<DDDDamageType, Float> entry : weights.entrySet()) {
+				if(entry.getValue() > 0) {
+					map.put(entry.getKey(), entry.getValue());
+				}
+			}
+			return INTERNER.intern(new Weights(map));
+		}
+
+		Weights with(DDDDamageType type, float amount) {
+			DDDBaseMap<Float> map = new DDDBaseMap<Float>(() -> 0.0f);
+			map.putAll(this.map);
+			map.put(type, amount);
+			return of(map);
+		}
+
+		Set<DDDDamageType> getCategories(boolean includeCustom) {
+			Set<DDDDamageType> set = includeCustom ? this.customCategories : this.categories;
+			if(set == null) {
+				DamageTypeSet types = new DamageTypeSet();
+				for(DDDDamageType type : this.map.keySet()) {
+					if(!type.isCustomDamage() || includeCustom) {
+						types.add(type);
+					}
+				}
+				set = Collections.unmodifiableSet(types);
+				if(includeCustom) {
+					this.customCategories = set;
+				}
+				else {
+					this.categories = set;
+				}
+			}
+			return set;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj == this || (obj instanceof Weights && ((Weights) obj).hash == this.hash && ((Weights) obj).map.equals(this.map));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
 
 	protected static boolean invariantViolated(Collection<Float> weights) {
 		for(float f : weights) {
@@ -30,6 +115,7 @@ public abstract class Distribution implements IDistribution {
 
 	@SafeVarargs
 	Distribution(Tuple<DDDDamageType, Float>... weights) {
+		DDDBaseMap<Float> map = new DDDBaseMap<Float>(() -> 0.0f);
 		for(Tuple<DDDDamageType, Float> t : weights) {
 			if(t.getSecond() < 0.0f) {
 				throw new InvariantViolationException("New weights are invalid!");
@@ -39,28 +125,106 @@ public abstract class Distribution implements IDistribution {
 				continue;
 			}
 			else {
-				this.distMap.put(t.getFirst(), t.getSecond());
+				map.put(t.getFirst(), t.getSecond());
 			}
 		}
+		this.weights = Weights.of(map);
 	}
 
 	protected Distribution(Map<DDDDamageType, Float> weightMap) {
 		setNewMap(weightMap);
 	}
 
+	/**
+	 * Create a distribution sharing another distribution's weights.
+	 *
+	 * @param other the distribution to copy
+	 */
+	protected Distribution(Distribution other) {
+		this.weights = other.weights;
+	}
+
+	/**
+	 * Mark a distribution's current weights as the weights configured for its
+	 * holder. While compact capability NBT is enabled and the weights are
+	 * unchanged, the distribution serializes to a compact list that only records
+	 * the config epoch, and deserializes back to the configured weights.
+	 *
+	 * @param dist the distribution
+	 * @return {@code dist}
+	 */
+	public static <D extends IDistribution> D asConfigured(D dist) {
+		if(dist instanceof Distribution) {
+			Distribution d = (Distribution) dist;
+			d.configured = d.weights;
+		}
+		return dist;
+	}
+
 	@Override
 	public NBTTagList serializeNBT() {
-		return DDDBaseMap.toNBT(this.distMap);
+		if(ModConfig.core.compactCapabilityNBT && this.weights == this.configured) {
+			return compactNBT();
+		}
+		return DDDBaseMap.toNBT(this.weights.map);
 	}
 
+	/**
+	 * Deserialize a list. An empty or compact list holds no weights, so the
+	 * weights this distribution was resolved with are kept.
+	 */
 	@Override
 	public void deserializeNBT(NBTTagList lst) {
-		this.distMap = DDDBaseMap.fromNBT(lst, () -> 0.0f);
+		if(lst.hasNoTags() || isCompactNBT(lst)) {
+			if(!lst.hasNoTags() && lst.getCompoundTagAt(0).getInteger(CONFIG_EPOCH) != DDDConfigurations.getEpoch()) {
+				DistinctDamageDescriptions.debug("Compact distribution was saved under a different config; using the current config's weights.");
+			}
+			if(this.configured != null) {
+				this.weights = this.configured;
+			}
+		}
+		else {
+			this.weights = Weights.of(DDDBaseMap.fromNBT(lst, () -> 0.0f));
+		}
+	}
+
+	/**
+	 * Get the compact form of a distribution that still has its configured
+	 * weights. It records the config epoch it was written under.
+	 * 
+	 * @return a new compact list
+	 */
+	public static NBTTagList compactNBT() {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setInteger(CONFIG_EPOCH, DDDConfigurations.getEpoch());
+		NBTTagList lst = new NBTTagList();
+		lst.appendTag(tag);
+		return lst;
+	}
+
+	/**
+	 * Is a list the compact form written by {@link #compactNBT()}?
+	 * 
+	 * @param lst the list
+	 * @return true if compact
+	 */
+	public static boolean isCompactNBT(NBTTagList lst) {
+		return lst.tagCount() == 1 && lst.getCompoundTagAt(0).hasKey(CONFIG_EPOCH);
+	}
+
+	/**
+	 * Is a list the compact form, written under the current config?
+	 * 
+	 * @param lst the list
+	 * @return true if compact and current
+	 */
+	public static boolean isCurrentCompactNBT(NBTTagList lst) {
+		return isCompactNBT(lst) && lst.getCompoundTagAt(0).getInteger(CONFIG_EPOCH) == DDDConfigurations.getEpoch();
 	}
 
 	@Override
 	public float getWeight(DDDDamageType type) {
-		return this.distMap.get(type);
+		return this.weights.map.get(type);
 	}
 
 	@Override
@@ -68,7 +232,7 @@ public abstract class Distribution implements IDistribution {
 		if(amount < 0) {
 			throw new InvariantViolationException("Can't set negative weight!");
 		}
-		this.distMap.put(type, amount);
+		this.weights = this.weights.with(type, amount);
 	}
 
 	@Override
@@ -79,34 +243,36 @@ public abstract class Distribution implements IDistribution {
 		setNewMap(map);
 	}
 
+	/**
+	 * {@inheritDoc} The categories are cached alongside this distribution's
+	 * weights, and the returned set is an unmodifiable view of that cache.
+	 */
 	@Override
 	public Set<DDDDamageType> getCategories() {
-		HashSet<DDDDamageType> set = new HashSet<DDDDamageType>();
-		for(Entry<DDDDamageType, Float> entry : this.distMap.entrySet()) {
-			if((!entry.getKey().isCustomDamage() || ModConfig.core.useCustomDamageTypes) && entry.getValue() > 0) {
-				set.add(entry.getKey());
-			}
-		}
-		return set;
+		return this.weights.getCategories(ModConfig.core.useCustomDamageTypes);
 	}
 
-	<R, T extends DDDBaseMap<R>> T distribute(T map, Function<Float, R> valueFunc) {
-		for(Entry<DDDDamageType, Float> entry : this.distMap.entrySet()) {
-			map.put(entry.getKey(), valueFunc.apply(entry.getValue()));
-		}
-		return map;
+	/**
+	 * Get this distribution's weights. Only types with positive weight are
+	 * present.
+	 *
+	 * @return an unmodifiable view of the weights
+	 */
+	protected final Map<DDDDamageType, Float> getWeightMap() {
+		return this.weights.view;
 	}
 
 	private final void setNewMap(Map<DDDDamageType, Float> map) {
-		this.distMap.clear();
-		map.entrySet().stream().filter((e) -> e.getValue() > 0).forEach((e) -> this.distMap.put(e.getKey(), e.getValue()));
+		this.weights = Weights.of(map);
 	}
 
 	protected final DDDBaseMap<Float> copyMap(float defaultVal) {
-		return this.distMap.entrySet().stream().collect(() -> new DDDBaseMap<Float>(() -> defaultVal), (m, e) -> m.put(e.getKey(), e.getValue()), DDDBaseMap::putAll);
+		DDDBaseMap<Float> map = new DDDBaseMap<Float>(() -> defaultVal);
+		map.putAll(this.weights.map);
+		return map;
 	}
 
 	protected static final <Dist extends Distribution & IDistribution> DDDBaseMap<Float> copyMap(Dist dist) {
-		return dist.copyMap(dist.distMap.getDefaultValue());
+		return dist.copyMap(dist.weights.map.getDefaultValue());
 	}
 }
@@ -1,17 +1,13 @@
 package yeelp.distinctdamagedescriptions.capability.impl;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.stream.Collectors;
 
+import io.netty.buffer.Unpooled;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.EnumFacing;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityInject;
@@ -22,19 +18,26 @@ import yeelp.distinctdamagedescriptions.config.ModConfig;
 import yeelp.distinctdamagedescriptions.network.MobResistancesMessage;
 import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
 import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
+import yeelp.distinctdamagedescriptions.util.DDDDenseMap;
 import yeelp.distinctdamagedescriptions.util.DamageMap;
-import yeelp.distinctdamagedescriptions.util.lib.YMath;
+import yeelp.distinctdamagedescriptions.util.DamageTypeSet;
+import yeelp.distinctdamagedescriptions.util.ResistanceCategories;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.CombatKernel;
 
 public class MobResistances extends DamageResistances implements IMobResistances {
 
 	@CapabilityInject(IMobResistances.class)
 	public static Capability<IMobResistances> cap;
+	private static final String ADAPTIVE = "adaptiveMask", LEGACY_ADAPTIVE = "adaptabilityStatus";
 	private boolean adaptive;
 	private float adaptiveAmount, adaptiveAmountModified;
-	private Set<DDDDamageType> adaptiveTo;
+	private static final DamageTypeSet NO_TYPES = new DamageTypeSet();
+	// never modified in place, only replaced, so it can be shared.
+	private DamageTypeSet adaptiveTo = NO_TYPES;
+	private boolean adaptiveStateUnsynced, adaptiveToUnsynced;
 
 	public MobResistances() {
-		this(new DDDBaseMap<Float>(() -> 0.0f), new HashSet<DDDDamageType>(), false, 0.0f);
+		this(new DDDBaseMap<Float>(() -> 0.0f), new DamageTypeSet(), false, 0.0f);
 	}
 
 	public MobResistances(DDDBaseMap<Float> resistances, Collection<DDDDamageType> immunities, boolean adaptitability, float adaptiveAmount) {
@@ -42,7 +45,26 @@ public class MobResistances extends DamageResistances implements IMobResistances
 		this.adaptive = adaptitability;
 		this.adaptiveAmount = adaptiveAmount;
 		this.adaptiveAmountModified = adaptiveAmount;
-		this.adaptiveTo = new HashSet<DDDDamageType>();
+	}
+
+	/**
+	 * Create mob resistances that share their base resistances and immunities
+	 * with every other instance made from the same categories, until they are
+	 * changed.
+	 * 
+	 * @param categories     the base resistances and immunities
+	 * @param adaptitability if the mob is adaptive
+	 * @param adaptiveAmount the adaptive amount
+	 */
+	public MobResistances(ResistanceCategories categories, boolean adaptitability, float adaptiveAmount) {
+		this(Profile.of(categories), adaptitability, adaptiveAmount);
+	}
+
+	private MobResistances(Profile profile, boolean adaptitability, float adaptiveAmount) {
+		super(profile);
+		this.adaptive = adaptitability;
+		this.adaptiveAmount = adaptiveAmount;
+		this.adaptiveAmountModified = adaptiveAmount;
 	}
 
 	@Override
@@ -62,7 +84,10 @@ public class MobResistances extends DamageResistances implements IMobResistances
 
 	@Override
 	public void setAdaptiveResistance(boolean status) {
-		this.adaptive = status;
+		if(status != this.adaptive) {
+			this.adaptive = status;
+			this.adaptiveStateUnsynced = true;
+		}
 	}
 
 	@Override
@@ -82,7 +107,10 @@ public class MobResistances extends DamageResistances implements IMobResistances
 
 	@Override
 	public void setAdaptiveAmount(float amount) {
-		this.adaptiveAmount = amount;
+		if(amount != this.adaptiveAmount) {
+			this.adaptiveAmount = amount;
+			this.adaptiveStateUnsynced = true;
+		}
 	}
 
 	@Override
@@ -92,33 +120,56 @@ public class MobResistances extends DamageResistances implements IMobResistances
 
 	@Override
 	public boolean updateAdaptiveResistance(DamageMap dmgMap) {
-		boolean sameKeys = this.adaptiveTo.stream().allMatch(dmgMap::containsKey) && dmgMap.keySet().stream().allMatch(this.adaptiveTo::contains);
+		boolean sameKeys = this.adaptiveTo.isKeySetOf(dmgMap);
 		if(!sameKeys) {
-			this.adaptiveTo = new HashSet<DDDDamageType>(dmgMap.keySet());
+			this.markChanged();
+			this.adaptiveTo = new DamageTypeSet().setToKeysOf(dmgMap);
+			this.adaptiveToUnsynced = true;
 			if(ModConfig.core.enableAdaptiveWeakness) {
-				float total = (float) YMath.sum(dmgMap.values());
-				Map<DDDDamageType, Float> weightMap = dmgMap.entrySet().stream().collect(Collectors.toMap(Entry::getKey, (e) -> e.getValue() / total));
-				float avgWeakness = (float) weightMap.entrySet().stream().filter((e) -> this.getResistance(e.getKey()) < 0).mapToDouble((e) -> this.getResistance(e.getKey()) * e.getValue()).average().orElse(0);
-				this.adaptiveAmountModified = (float) Math.exp(avgWeakness) * this.adaptiveAmount;
+				this.adaptiveAmountModified = CombatKernel.getAdaptiveWeaknessModifier(dmgMap, (i) -> this.getResistance(DDDDenseMap.typeOf(i))) * this.adaptiveAmount;
+				this.adaptiveStateUnsynced = true;
 			}
 		}
 		return !sameKeys;
 	}
 
 	@Override
-	public NBTTagCompound serializeNBT() {
-		NBTTagCompound tag = super.serializeNBT();
-		NBTTagList adaptabilityStatus = new NBTTagList();
+	public NBTTagCompound serializeNBT(boolean compact) {
+		NBTTagCompound tag = super.serializeNBT(compact);
 		tag.setBoolean("adaptive", this.adaptive);
 		tag.setFloat("adaptiveAmount", this.adaptiveAmount);
 		tag.setFloat("adaptiveAmountModified", this.adaptiveAmountModified);
-		for(DDDDamageType type : this.adaptiveTo) {
-			adaptabilityStatus.appendTag(new NBTTagString(type.getTypeName()));
-		}
-		tag.setTag("adaptabilityStatus", adaptabilityStatus);
 		return tag;
 	}
 
+	@Override
+	void writeTypes(NBTTagCompound tag, TypePalette palette) {
+		if(!this.adaptiveTo.isEmpty()) {
+			tag.setIntArray(ADAPTIVE, palette.mask(this.adaptiveTo));
+		}
+	}
+
+	@Override
+	void readTypes(NBTTagCompound tag, DDDDamageType[] palette) {
+		this.markChanged();
+		this.adaptiveTo = new DamageTypeSet();
+		if(tag.hasKey(LEGACY_ADAPTIVE)) {
+			for(NBTBase nbt : tag.getTagList(LEGACY_ADAPTIVE, new NBTTagString().getId())) {
+				DDDDamageType type = DDDRegistries.damageTypes.get(((NBTTagString) nbt).getString());
+				if(type != null) {
+					this.adaptiveTo.add(type);
+				}
+			}
+		}
+		else {
+			TypePalette.forEachInMask(tag.getIntArray(ADAPTIVE), palette, (type) -> {
+				if(type != null) {
+					this.adaptiveTo.add(type);
+				}
+			});
+		}
+	}
+
 	@Override
 	public void deserializeNBT(NBTTagCompound tag) {
 		super.deserializeNBT(tag);
@@ -128,16 +179,12 @@ public class MobResistances extends DamageResistances implements IMobResistances
 		if(this.adaptiveAmountModified == 0) {
 			this.adaptiveAmountModified = this.adaptiveAmount;
 		}
-		this.adaptiveTo = new HashSet<DDDDamageType>();
-		for(NBTBase nbt : tag.getTagList("adaptabilityStatus", new NBTTagString().getId())) {
-			this.adaptiveTo.add(DDDRegistries.damageTypes.get(((NBTTagString) nbt).getString()));
-		}
 	}
 
 	@Override
 	public IMobResistances copy() {
-		MobResistances copy = new MobResistances(super.copyMap(), super.copyImmunities(), this.adaptive, this.adaptiveAmount);
-		copy.adaptiveTo = new HashSet<DDDDamageType>(this.adaptiveTo);
+		MobResistances copy = new MobResistances(this.share(), this.adaptive, this.adaptiveAmount);
+		copy.adaptiveTo = this.adaptiveTo;
 		return copy;
 	}
 
@@ -146,8 +193,83 @@ public class MobResistances extends DamageResistances implements IMobResistances
 		return this;
 	}
 
+	/**
+	 * Get a message syncing what changed since the last sync, or everything if a
+	 * full sync is needed. Everything is then marked as synced.
+	 */
 	@Override
 	public IMessage getIMessage() {
-		return new MobResistancesMessage(this);
+		MobResistancesMessage msg;
+		if(this.needsFullSync()) {
+			msg = new MobResistancesMessage(this.serializeNBT(false));
+		}
+		else {
+			PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+			this.writeDelta(buf);
+			byte[] delta = new byte[buf.readableBytes()];
+			buf.readBytes(delta);
+			msg = new MobResistancesMessage(delta);
+		}
+		this.markSynced();
+		return msg;
+	}
+
+	/**
+	 * Apply a delta sent by a {@link MobResistancesMessage}
+	 * 
+	 * @param delta the delta
+	 */
+	public void applyDelta(byte[] delta) {
+		this.readDelta(new PacketBuffer(Unpooled.wrappedBuffer(delta)));
+	}
+
+	@Override
+	boolean hasUnsyncedChanges() {
+		return super.hasUnsyncedChanges() || this.adaptiveStateUnsynced || this.adaptiveToUnsynced;
+	}
+
+	@Override
+	void markSynced() {
+		super.markSynced();
+		this.adaptiveStateUnsynced = false;
+		this.adaptiveToUnsynced = false;
+	}
+
+	@Override
+	void writeDelta(PacketBuffer buf) {
+		super.writeDelta(buf);
+		buf.writeBoolean(this.adaptiveStateUnsynced);
+		if(this.adaptiveStateUnsynced) {
+			buf.writeBoolean(this.adaptive);
+			buf.writeFloat(this.adaptiveAmount);
+			buf.writeFloat(this.adaptiveAmountModified);
+		}
+		buf.writeBoolean(this.adaptiveToUnsynced);
+		if(this.adaptiveToUnsynced) {
+			buf.writeVarInt(this.adaptiveTo.size());
+			for(DDDDamageType type : this.adaptiveTo) {
+				buf.writeString(type.getTypeName());
+			}
+		}
+	}
+
+	@Override
+	void readDelta(PacketBuffer buf) {
+		super.readDelta(buf);
+		if(buf.readBoolean()) {
+			this.adaptive = buf.readBoolean();
+			this.adaptiveAmount = buf.readFloat();
+			this.adaptiveAmountModified = buf.readFloat();
+		}
+		if(buf.readBoolean()) {
+			this.adaptiveTo = new DamageTypeSet();
+			for(int n = buf.readVarInt(); n > 0; n--) {
+				DDDDamageType type = DDDRegistries.damageTypes.get(buf.readString(Short.MAX_VALUE));
+				if(type != null) {
+					this.adaptiveTo.add(type);
+				}
+			}
+		}
+		this.markChanged();
 	}
 }
@@ -6,16 +6,19 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.Tuple;
-import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityInject;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
 import yeelp.distinctdamagedescriptions.capability.IDistribution;
+import yeelp.distinctdamagedescriptions.config.ModConfig;
+import yeelp.distinctdamagedescriptions.util.DDDDenseMap;
 import yeelp.distinctdamagedescriptions.util.DamageMap;
 import yeelp.distinctdamagedescriptions.util.lib.NonNullMap;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.CombatKernel;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.ShieldTable;
 
-public class ShieldDistribution extends Distribution implements IDistribution {
+public class ShieldDistribution extends Distribution implements IDistribution, ShieldTable {
 
 	@CapabilityInject(ShieldDistribution.class)
 	public static Capability<ShieldDistribution> cap;
@@ -33,12 +36,21 @@ public class ShieldDistribution extends Distribution implements IDistribution {
 		super(mappings);
 	}
 
+	protected ShieldDistribution(ShieldDistribution other) {
+		super(other);
+	}
+
 	public DamageMap block(DamageMap fullDamage) {
-		this.getCategories().forEach((t) -> fullDamage.computeIfPresent(t, (k, v) -> {
-			float f = blockDamage(v, this.getWeight(k));
-			return f <= 0 ? null : f;
-		}));
-		return fullDamage;
+		return CombatKernel.block(this, fullDamage);
+	}
+
+	@Override
+	public float getBlockWeight(int ordinal) {
+		DDDDamageType type = DDDDenseMap.typeOf(ordinal);
+		if(type.isCustomDamage() && !ModConfig.core.useCustomDamageTypes) {
+			return 0.0f;
+		}
+		return this.getWeight(type);
 	}
 
 	public static void register() {
@@ -57,15 +69,11 @@ public class ShieldDistribution extends Distribution implements IDistribution {
 
 	@Override
 	public ShieldDistribution copy() {
-		return new ShieldDistribution(super.copyMap(1.0f));
+		return new ShieldDistribution(this);
 	}
 
 	@Override
 	public ShieldDistribution update(ItemStack owner) {
 		return this;
 	}
-
-	private static float blockDamage(float damage, float weight) {
-		return MathHelper.clamp(damage * (1 - weight), 0, Float.MAX_VALUE);
-	}
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package yeelp.distinctdamagedescriptions.capability.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Maps;
+
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+
+/**
+ * A palette of damage type names for compact NBT. Each type used in a tag is
+ * named once in the palette, and everything else refers to types by their
+ * index in it, so the tag doesn't depend on registry ordinals, which can change
+ * whenever custom damage types do.
+ *
+ * @author Yeelp
+ *
+ */
+final class TypePalette {
+	private static final int WORD_BITS = 5;
+	private final List<DDDDamageType> types = new ArrayList<DDDDamageType>();
+	private final Map<DDDDamageType, Integer> indices = Maps.newHashMap();
+
+	/**
+	 * Get a type's index in this palette, adding it if it isn't present.
+	 *
+	 * @param type the type
+	 * @return its index
+	 */
+	int indexOf(DDDDamageType type) {
+		Integer index = this.indices.get(type);
+		if(index == null) {
+			this.indices.put(type, index = this.types.size());
+			this.types.add(type);
+		}
+		return index;
+	}
+
+	/**
+	 * Encode types as a bitmask over their indices in this palette, adding any
+	 * that aren't present.
+	 *
+	 * @param types the types
+	 * @return the bitmask, as 32 bit words.
+	 */
+	int[] mask(Iterable<DDDDamageType> types) {
+		int[] words = new int[0];
+		for(DDDDamageType type : types) {
+			int index = this.indexOf(type);
+			int word = index >>> WORD_BITS;
+			if(word >= words.length) {
+				int[] grown = new int[word + 1];
+				System.arraycopy(words, 0, grown, 0, words.length);
+				words = grown;
+			}
+			words[word] |= 1 << index;
+		}
+		return words;
+	}
+
+	boolean isEmpty() {
+		return this.types.isEmpty();
+	}
+
+	NBTTagList toNBT() {
+		NBTTagList lst = new NBTTagList();
+		for(DDDDamageType type : this.types) {
+			lst.appendTag(new NBTTagString(type.getTypeName()));
+		}
+		return lst;
+	}
+
+	/**
+	 * Read a palette
+	 *
+	 * @param lst the palette, as written by {@link #toNBT()}
+	 * @return the types in the palette, indexed the same way. Types that are no
+	 *         longer registered are null.
+	 */
+	static DDDDamageType[] fromNBT(NBTTagList lst) {
+		DDDDamageType[] palette = new DDDDamageType[lst.tagCount()];
+		for(int i = 0; i < palette.length; i++) {
+			palette[i] = DDDRegistries.damageTypes.get(lst.getStringTagAt(i));
+		}
+		return palette;
+	}
+
+	/**
+	 * Decode a bitmask written by {@link #mask(Iterable)}
+	 *
+	 * @param words   the bitmask
+	 * @param palette the palette it refers to
+	 * @param action  what to do with each type in the mask. Types that are no
+	 *                longer registered, or out of the palette's bounds, are
+	 *                passed as null.
+	 */
+	static void forEachInMask(int[] words, DDDDamageType[] palette, Consumer<DDDDamageType> action) {
+		for(int word = 0; word < words.length; word++) {
+			for(int bits = words[word]; bits != 0; bits &= bits - 1) {
+				int index = (word << WORD_BITS) + Integer.numberOfTrailingZeros(bits);
+				action.accept(index < palette.length ? palette[index] : null);
+			}
+		}
+	}
+
+	/**
+	 * Get a type from a palette
+	 *
+	 * @param palette the palette
+	 * @param index   the index
+	 * @return the type, or null if it's no longer registered or {@code index} is
+	 *         out of bounds.
+	 */
+	static DDDDamageType get(DDDDamageType[] palette, int index) {
+		return index >= 0 && index < palette.length ? palette[index] : null;
+	}
+}
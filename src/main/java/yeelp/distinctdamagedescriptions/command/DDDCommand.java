@@ -0,0 +1,78 @@
+package yeelp.distinctdamagedescriptions.command;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import yeelp.distinctdamagedescriptions.ModConsts;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+
+/**
+ * The /ddd command.
+ * <p>
+ * {@code /ddd perf} shows DDD's performance instrumentation since it was last
+ * reset, and {@code /ddd perf reset} resets it.
+ * 
+ * @author Yeelp
+ *
+ */
+public final class DDDCommand extends CommandBase {
+	private static final String USAGE = "/ddd perf [reset]";
+
+	@Override
+	public String getName() {
+		return ModConsts.MODID_SHORT;
+	}
+
+	@Override
+	public String getUsage(ICommandSender sender) {
+		return USAGE;
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 2;
+	}
+
+	@Override
+	public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+		if(args.length == 0 || !args[0].equals("perf") || args.length > 2) {
+			throw new WrongUsageException(USAGE);
+		}
+		if(args.length == 2) {
+			if(!args[1].equals("reset")) {
+				throw new WrongUsageException(USAGE);
+			}
+			DDDInstrumentation.reset();
+			sender.sendMessage(new TextComponentString("DDD performance counters reset."));
+			return;
+		}
+		if(!DDDInstrumentation.isEnabled()) {
+			sender.sendMessage(new TextComponentString("DDD performance instrumentation is disabled. Enable it in the development section of DDD's config."));
+			return;
+		}
+		for(String line : DDDInstrumentation.summarize()) {
+			sender.sendMessage(new TextComponentString(line));
+		}
+	}
+
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+		switch(args.length) {
+			case 1:
+				return getListOfStringsMatchingLastWord(args, "perf");
+			case 2:
+				return args[0].equals("perf") ? getListOfStringsMatchingLastWord(args, "reset") : Collections.emptyList();
+			default:
+				return Collections.emptyList();
+		}
+	}
+}
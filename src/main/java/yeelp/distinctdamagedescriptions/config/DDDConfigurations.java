@@ -1,5 +1,6 @@
 package yeelp.distinctdamagedescriptions.config;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 
@@ -57,6 +58,19 @@ public abstract class DDDConfigurations {
 	 */
 	public static IDDDProjectileConfiguration projectiles;
 
+	private static int epoch;
+
+	/**
+	 * Get a hash of the config entries capabilities are resolved from. Compact
+	 * capability NBT records it, so tags written under a different config can be
+	 * detected.
+	 * 
+	 * @return the config epoch
+	 */
+	public static int getEpoch() {
+		return epoch;
+	}
+
 	/**
 	 * Initializes the configurations and reads from the config.
 	 */
@@ -71,6 +85,7 @@ public abstract class DDDConfigurations {
 		String[] resistsConfig = new String[ModConfig.resist.mobBaseResist.length + 1];
 		System.arraycopy(ModConfig.resist.mobBaseResist, 0, resistsConfig, 1, ModConfig.resist.mobBaseResist.length);
 		resistsConfig[0] = "player;" + ModConfig.resist.playerResists;
+		epoch = Arrays.deepHashCode(new Object[] {ModConfig.dmg.itemBaseDamage, ModConfig.resist.armorResist, ModConfig.resist.shieldResist, ModConfig.dmg.mobBaseDmg, resistsConfig, ModConfig.dmg.projectileDamageTypes});
 		try {
 			DDDConfigLoader.getInstance().enqueueAll(new DDDDamageDistributionConfigReader("Item Distributions", ModConfig.dmg.itemBaseDamage, items), new DDDBasicConfigReader<IArmorDistribution>("Armor Distributions", ModConfig.resist.armorResist, armors, ArmorDistribution.class.getConstructor(Map.class), 0.0f), new DDDBasicConfigReader<ShieldDistribution>("Shield Distributions", ModConfig.resist.shieldResist, shields, ShieldDistribution.class.getConstructor(Map.class), 0.0f), new DDDDamageDistributionConfigReader("Mob Damage Distribtuions", ModConfig.dmg.mobBaseDmg, mobDamage), new DDDMobResistancesConfigReader(resistsConfig), new DDDProjectileConfigReader());
 		}
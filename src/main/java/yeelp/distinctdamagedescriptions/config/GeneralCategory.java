@@ -49,6 +49,12 @@ public final class GeneralCategory {
 			"This triggers only when a mob's adaptability is triggered."})
 	public boolean enableAdaptiveWeakness = false;
 
+	@Name("Compact Capability NBT")
+	@Comment({
+			"If true, DDD capabilities on items and mobs that still have their configured values won't save those values to NBT. They will get them from the config again when loaded instead.",
+			"This makes saves smaller, but means changing the config also changes these existing items and mobs. Capabilities that were changed from their configured values are saved in full."})
+	public boolean compactCapabilityNBT = false;
+
 	@Name("Register Potions")
 	@Comment("If true, DDD will register and add potions and potion effects that grant resistance buffs/debuffs")
 	@RequiresMcRestart
@@ -19,6 +19,7 @@ import yeelp.distinctdamagedescriptions.config.dev.DevelopmentCategory;
 import yeelp.distinctdamagedescriptions.config.enchant.EnchantCategory;
 import yeelp.distinctdamagedescriptions.config.resists.ResistanceCategory;
 import yeelp.distinctdamagedescriptions.handlers.DaylightTracker;
+import yeelp.distinctdamagedescriptions.integration.capability.MaterialDistributionCache;
 import yeelp.distinctdamagedescriptions.integration.hwyla.client.HwylaTooltipMaker;
 import yeelp.distinctdamagedescriptions.registries.impl.dists.DDDExplosionDist;
 import yeelp.distinctdamagedescriptions.util.ConfigGenerator;
@@ -77,6 +78,7 @@ public class ModConfig {
 				DaylightTracker.update();
 				TooltipMaker.updateFormatters();
 				HwylaTooltipMaker.updateFormatters();
+				MaterialDistributionCache.invalidate();
 			}
 		}
 
@@ -84,6 +86,8 @@ public class ModConfig {
 		public static void onWorldSave(@SuppressWarnings("unused") final WorldEvent.Save evt) {
 			if(core.generateStats && ConfigGenerator.hasUpdated()) {
 				DistinctDamageDescriptions.debug("Adding new config values...");
+				// reset first, so values generated while saving are saved next time.
+				ConfigGenerator.markUpdated();
 				Configuration config = DistinctDamageDescriptions.getConfiguration();
 				Property itemDmg = config.get("general.damage", "Weapon Base Damage", dmg.itemBaseDamage);
 				Property mobDmg = config.get("general.damage", "Mob Base Damage", dmg.mobBaseDmg);
@@ -99,7 +103,6 @@ public class ModConfig {
 				mobResists.set(YLib.merge(resist.mobBaseResist, ConfigGenerator.getNewMobResistanceConfigValues()));
 				shieldDists.set(YLib.merge(resist.shieldResist, ConfigGenerator.getNewShieldConfigValues()));
 				config.save();
-				ConfigGenerator.markUpdated();
 			}
 		}
 	}
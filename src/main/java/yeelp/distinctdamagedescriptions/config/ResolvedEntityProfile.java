@@ -0,0 +1,120 @@
+package yeelp.distinctdamagedescriptions.config;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.entity.Entity;
+import net.minecraftforge.fml.common.registry.EntityEntry;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
+import yeelp.distinctdamagedescriptions.util.MobResistanceCategories;
+import yeelp.distinctdamagedescriptions.util.lib.YResources;
+
+/**
+ * Everything DDD's configuration says about an entity type, resolved once.
+ * Capability distributors look entities up here by class instead of building
+ * the entity's ID string and querying each configuration with it.
+ * <p>
+ * Profiles for every registered entity are built when loading completes, once
+ * all configuration has been read. Until then, or for entities without a
+ * registered class, profiles are resolved on demand.
+ *
+ * @author Yeelp
+ *
+ */
+public final class ResolvedEntityProfile {
+	private static volatile Map<Class<? extends Entity>, ResolvedEntityProfile> profiles = Collections.emptyMap();
+
+	private final Optional<String> key;
+	private final IDamageDistribution damage;
+	private final MobResistanceCategories resists;
+	private final IDamageDistribution projectile;
+
+	private ResolvedEntityProfile(Optional<String> key) {
+		this.key = key;
+		String k = key.orElse(null);
+		this.damage = k == null ? null : DDDConfigurations.mobDamage.get(k);
+		this.resists = k == null ? null : DDDConfigurations.mobResists.get(k);
+		this.projectile = k == null ? null : DDDConfigurations.projectiles.get(k);
+	}
+
+	/**
+	 * Get the profile for an entity
+	 *
+	 * @param entity the entity
+	 * @return the entity's profile
+	 */
+	public static ResolvedEntityProfile of(Entity entity) {
+		ResolvedEntityProfile profile = profiles.get(entity.getClass());
+		return profile == null ? new ResolvedEntityProfile(YResources.getEntityIDString(entity)) : profile;
+	}
+
+	/**
+	 * Resolve profiles for every registered entity. Should be called once all
+	 * configuration has been read.
+	 */
+	public static void build() {
+		Map<Class<? extends Entity>, ResolvedEntityProfile> map = new IdentityHashMap<Class<? extends Entity>, ResolvedEntityProfile>();
+		for(EntityEntry entry : ForgeRegistries.ENTITIES) {
+			map.put(entry.getEntityClass(), new ResolvedEntityProfile(Optional.of(entry.getRegistryName().toString())));
+		}
+		profiles = map;
+	}
+
+	/**
+	 * Get the entity's ID string
+	 *
+	 * @return an Optional containing the ID string, or an empty Optional if the
+	 *         entity has no ID.
+	 */
+	public Optional<String> getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Was this profile resolved for a key?
+	 *
+	 * @param key the key
+	 * @return true if this profile's ID string is {@code key}
+	 */
+	public boolean isFor(String key) {
+		return this.key.isPresent() && this.key.get().equals(key);
+	}
+
+	/**
+	 * Get the entity's configured damage distribution. This is shared and
+	 * shouldn't be modified; copy it first.
+	 *
+	 * @return the damage distribution, or null if not configured
+	 */
+	@Nullable
+	public IDamageDistribution getMobDamage() {
+		return this.damage;
+	}
+
+	/**
+	 * Get the entity's configured resistances. This is shared and shouldn't be
+	 * modified.
+	 *
+	 * @return the resistances, or null if not configured
+	 */
+	@Nullable
+	public MobResistanceCategories getMobResistances() {
+		return this.resists;
+	}
+
+	/**
+	 * Get the entity's configured projectile damage distribution. This is shared
+	 * and shouldn't be modified; copy it first.
+	 *
+	 * @return the projectile distribution, or null if not configured
+	 */
+	@Nullable
+	public IDamageDistribution getProjectileDistribution() {
+		return this.projectile;
+	}
+}
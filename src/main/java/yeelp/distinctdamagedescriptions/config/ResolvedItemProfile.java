@@ -0,0 +1,132 @@
+package yeelp.distinctdamagedescriptions.config;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.item.Item;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
+import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
+import yeelp.distinctdamagedescriptions.capability.impl.ShieldDistribution;
+import yeelp.distinctdamagedescriptions.util.lib.YResources;
+
+/**
+ * Everything DDD's configuration says about an item, resolved once. Capability
+ * distributors and tooltips look items up here by identity instead of building
+ * the item's registry string and querying each configuration with it.
+ * <p>
+ * Profiles for every registered item are built when loading completes, once
+ * all configuration has been read. Until then, or for items registered later,
+ * profiles are resolved on demand.
+ *
+ * @author Yeelp
+ *
+ */
+public final class ResolvedItemProfile {
+	private static volatile Map<Item, ResolvedItemProfile> profiles = Collections.emptyMap();
+
+	private final String key;
+	private final IDamageDistribution damage;
+	private final IArmorDistribution armor;
+	private final ShieldDistribution shield;
+	private final IDamageDistribution projectile;
+	private final boolean projectilePair;
+
+	private ResolvedItemProfile(Item item) {
+		this.key = YResources.getRegistryString(item);
+		this.damage = DDDConfigurations.items.get(this.key);
+		this.armor = DDDConfigurations.armors.get(this.key);
+		this.shield = DDDConfigurations.shields.get(this.key);
+		this.projectilePair = DDDConfigurations.projectiles.isProjectilePairRegistered(this.key);
+		this.projectile = this.projectilePair ? DDDConfigurations.projectiles.getFromItemID(this.key) : null;
+	}
+
+	/**
+	 * Get the profile for an item
+	 *
+	 * @param item the item
+	 * @return the item's profile
+	 */
+	public static ResolvedItemProfile of(Item item) {
+		ResolvedItemProfile profile = profiles.get(item);
+		return profile == null ? new ResolvedItemProfile(item) : profile;
+	}
+
+	/**
+	 * Resolve profiles for every registered item. Should be called once all
+	 * configuration has been read.
+	 */
+	public static void build() {
+		Map<Item, ResolvedItemProfile> map = new IdentityHashMap<Item, ResolvedItemProfile>();
+		for(Item item : ForgeRegistries.ITEMS) {
+			map.put(item, new ResolvedItemProfile(item));
+		}
+		profiles = map;
+	}
+
+	/**
+	 * Get the item's registry string
+	 *
+	 * @return the registry string
+	 */
+	public String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Get the item's configured damage distribution. This is shared and shouldn't
+	 * be modified; copy it first.
+	 *
+	 * @return the damage distribution, or null if not configured
+	 */
+	@Nullable
+	public IDamageDistribution getDamageDistribution() {
+		return this.damage;
+	}
+
+	/**
+	 * Get the item's configured armor distribution. This is shared and shouldn't
+	 * be modified; copy it first.
+	 *
+	 * @return the armor distribution, or null if not configured
+	 */
+	@Nullable
+	public IArmorDistribution getArmorDistribution() {
+		return this.armor;
+	}
+
+	/**
+	 * Get the item's configured shield distribution. This is shared and shouldn't
+	 * be modified; copy it first.
+	 *
+	 * @return the shield distribution, or null if not configured
+	 */
+	@Nullable
+	public ShieldDistribution getShieldDistribution() {
+		return this.shield;
+	}
+
+	/**
+	 * Get the configured damage distribution of the projectile this item is
+	 * paired with. This is shared and shouldn't be modified; copy it first.
+	 *
+	 * @return the projectile's damage distribution, or null if the item isn't
+	 *         paired with a projectile, or the projectile isn't configured
+	 */
+	@Nullable
+	public IDamageDistribution getProjectileDistribution() {
+		return this.projectile;
+	}
+
+	/**
+	 * Is this item paired with a projectile?
+	 *
+	 * @return true if paired
+	 */
+	public boolean hasProjectilePair() {
+		return this.projectilePair;
+	}
+}
@@ -2,6 +2,7 @@ package yeelp.distinctdamagedescriptions.config.dev;
 
 import net.minecraftforge.common.config.Config.Comment;
 import net.minecraftforge.common.config.Config.Name;
+import net.minecraftforge.common.config.Config.RangeInt;
 
 public final class DevelopmentCategory {
 	public enum DeveloperStatus {
@@ -78,4 +79,17 @@ public final class DevelopmentCategory {
 	@Name("Show Config Errors on Join")
 	@Comment("If enabled, DDD will display config errors for any multi-entry config option in the chat when a player joins the world.")
 	public boolean showConfigErrors = false;
+
+	@Name("Enable Performance Instrumentation")
+	@Comment({
+			"If enabled, DDD will time each stage of its combat calculations, capability attachment and trackers, and count hits by damage type and entity ID.",
+			"Results can be viewed in game with /ddd perf. This is independent of the Enabled switch above, and is cheap enough to leave on while investigating lag on a live server."})
+	public boolean enableInstrumentation = false;
+
+	@Name("Performance Log Interval")
+	@Comment({
+			"If performance instrumentation is enabled, DDD will log a summary to the console every this many server ticks, then reset its counters.",
+			"Set to 0 to disable the periodic summary."})
+	@RangeInt(min = 0)
+	public int instrumentationLogInterval = 6000;
 }
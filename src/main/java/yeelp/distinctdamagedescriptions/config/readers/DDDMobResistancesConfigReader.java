@@ -2,6 +2,7 @@ package yeelp.distinctdamagedescriptions.config.readers;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
@@ -10,7 +11,6 @@ import yeelp.distinctdamagedescriptions.config.readers.exceptions.ConfigInvalidE
 import yeelp.distinctdamagedescriptions.config.readers.exceptions.ConfigParsingException;
 import yeelp.distinctdamagedescriptions.util.ConfigReaderUtilities;
 import yeelp.distinctdamagedescriptions.util.MobResistanceCategories;
-import yeelp.distinctdamagedescriptions.util.lib.NonNullMap;
 
 public final class DDDMobResistancesConfigReader extends DDDBasicConfigReader<MobResistanceCategories> {
 
@@ -18,7 +18,7 @@ public final class DDDMobResistancesConfigReader extends DDDBasicConfigReader<Mo
 	private static final String RESIST_REGEX = ConfigReaderUtilities.buildListRegex(ConfigReaderUtilities.ALLOW_NEGATIVE_ENTRY_TUPLE_SUBREGEX, true);
 
 	public DDDMobResistancesConfigReader(String[] configList) throws NoSuchMethodException, SecurityException {
-		super("Mob Resistances", configList, DDDConfigurations.mobResists, MobResistanceCategories.class.getConstructor(NonNullMap.class, Collection.class, float.class, float.class), 0.0f);
+		super("Mob Resistances", configList, DDDConfigurations.mobResists, MobResistanceCategories.class.getConstructor(Map.class, Collection.class, float.class, float.class), 0.0f);
 	}
 
 	@Override
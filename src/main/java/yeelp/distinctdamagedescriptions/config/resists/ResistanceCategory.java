@@ -59,4 +59,12 @@ public final class ResistanceCategory {
 			"Malformed entries in this list will be ignored."})
 	@RequiresMcRestart
 	public String[] armorResist = DefaultValues.ARMOR_BASE_RESISTS;
+
+	@Name("Direct Armor Reduction")
+	@Comment({
+			"If true, each damage type is reduced by the armor and toughness that type is up against, using vanilla's armor formula.",
+			"If false, armor and toughness for all incoming types are summed and applied temporarily as attribute modifiers, which vanilla then uses to reduce the total.",
+			"Direct reduction leaves armor attributes alone, so they aren't recalculated and synced to clients on every hit. Armor items still lose durability based on the damage before armor, like vanilla.",
+			"Players wearing armor that uses Forge's ISpecialArmor always use attribute modifiers, since Forge's reduction for that armor can't be replaced."})
+	public boolean directArmorReduction = false;
 }
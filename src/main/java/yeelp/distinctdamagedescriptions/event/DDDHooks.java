@@ -1,9 +1,16 @@
 package yeelp.distinctdamagedescriptions.event;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -11,36 +18,204 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.DamageSource;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.EventBus;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import yeelp.distinctdamagedescriptions.DistinctDamageDescriptions;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.event.calculation.ShieldBlockEvent;
 import yeelp.distinctdamagedescriptions.event.calculation.UpdateAdaptiveResistanceEvent;
 import yeelp.distinctdamagedescriptions.event.classification.DetermineDamageEvent;
 import yeelp.distinctdamagedescriptions.event.classification.GatherDefensesEvent;
 import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.DamageTypeSet;
 import yeelp.distinctdamagedescriptions.util.ResistMap;
 import yeelp.distinctdamagedescriptions.util.development.DeveloperModeKernel;
 
+/**
+ * Fires DDD's events. An event is only constructed and posted if something
+ * would observe it: a listener on the Forge event bus, an active bridge, or a
+ * developer mode callback. Otherwise the fire methods return null, and callers
+ * should carry on as if the event was posted and left untouched.
+ *
+ * @author Yeelp
+ *
+ */
 public final class DDDHooks {
+	private static final int BUS_ID = findBusID();
+
+	private static final Hook<ShieldBlockEvent> SHIELD_BLOCK = new Hook<ShieldBlockEvent>(ShieldBlockEvent.class, DeveloperModeKernel::onShieldBlockCallback);
+	private static final Hook<DetermineDamageEvent> DETERMINE_DAMAGE = new Hook<DetermineDamageEvent>(DetermineDamageEvent.class, DeveloperModeKernel::onDetermineDamageCallback);
+	private static final Hook<GatherDefensesEvent> GATHER_DEFENSES = new Hook<GatherDefensesEvent>(GatherDefensesEvent.class, DeveloperModeKernel::onGatherDefensesCallback);
+	private static final Hook<UpdateAdaptiveResistanceEvent> UPDATE_ADAPTIVE = new Hook<UpdateAdaptiveResistanceEvent>(UpdateAdaptiveResistanceEvent.class, DeveloperModeKernel::onUpdateAdaptabilityCallback);
+	private static final Map<Class<? extends Event>, Hook<?>> HOOKS = ImmutableMap.<Class<? extends Event>, Hook<?>>builder().put(ShieldBlockEvent.class, SHIELD_BLOCK).put(DetermineDamageEvent.class, DETERMINE_DAMAGE).put(GatherDefensesEvent.class, GATHER_DEFENSES).put(UpdateAdaptiveResistanceEvent.class, UPDATE_ADAPTIVE).build();
+
+	/**
+	 * A listener that receives a DDD event directly instead of through the Forge
+	 * event bus, and only counts as a listener while it is active.
+	 *
+	 * @author Yeelp
+	 *
+	 */
+	private static final class Bridge<E extends Event> {
+		private final Consumer<E> listener;
+		private final Predicate<EntityLivingBase> active;
+
+		Bridge(Consumer<E> listener, Predicate<EntityLivingBase> active) {
+			this.listener = listener;
+			this.active = active;
+		}
+	}
+
+	private static final class Hook<E extends Event> {
+		private final Class<E> type;
+		private final Consumer<E> devCallback;
+		private final List<Bridge<E>> preBridges = new ArrayList<Bridge<E>>();
+		private final List<Bridge<E>> postBridges = new ArrayList<Bridge<E>>();
+		private boolean resolved = false;
+		private ListenerList listenerList;
+		private IEventListener[] lastListeners;
+		private boolean hasBusListeners = true;
+
+		Hook(Class<E> type, Consumer<E> devCallback) {
+			this.type = type;
+			this.devCallback = devCallback;
+		}
+
+		void addBridge(EventPriority priority, Consumer<E> listener, Predicate<EntityLivingBase> active) {
+			(priority.compareTo(EventPriority.NORMAL) < 0 ? this.preBridges : this.postBridges).add(new Bridge<E>(listener, active));
+		}
+
+		boolean isObserved(EntityLivingBase defender) {
+			return this.busHasListeners() || DeveloperModeKernel.isCallbackEnabled(this.type) || anyActive(this.preBridges, defender) || anyActive(this.postBridges, defender);
+		}
+
+		E fire(E evt, EntityLivingBase defender) {
+			publish(this.preBridges, evt, defender);
+			MinecraftForge.EVENT_BUS.post(evt);
+			publish(this.postBridges, evt, defender);
+			this.devCallback.accept(evt);
+			return evt;
+		}
+
+		/**
+		 * Check the Forge event bus for listeners. The bus hands back the same
+		 * listener array until a handler is registered or unregistered, so the count
+		 * is only redone when that array changes.
+		 */
+		private boolean busHasListeners() {
+			if(!this.resolved) {
+				this.resolve();
+			}
+			if(this.listenerList == null) {
+				return true;
+			}
+			IEventListener[] listeners = this.listenerList.getListeners(BUS_ID);
+			if(listeners != this.lastListeners) {
+				this.lastListeners = listeners;
+				this.hasBusListeners = false;
+				for(IEventListener listener : listeners) {
+					// priority markers show up in the listener array too.
+					if(!(listener instanceof EventPriority)) {
+						this.hasBusListeners = true;
+						break;
+					}
+				}
+			}
+			return this.hasBusListeners;
+		}
+
+		private void resolve() {
+			this.resolved = true;
+			if(BUS_ID < 0) {
+				return;
+			}
+			try {
+				// Forge adds a public no arg constructor to every event, and creates
+				// events this way when registering listeners.
+				this.listenerList = this.type.getConstructor().newInstance().getListenerList();
+			}
+			catch(ReflectiveOperationException | RuntimeException e) {
+				DistinctDamageDescriptions.warn(String.format("Couldn't find listeners for %s, it will always be posted.", this.type.getSimpleName()));
+			}
+		}
+
+		private static <E extends Event> boolean anyActive(List<Bridge<E>> bridges, EntityLivingBase defender) {
+			for(Bridge<E> bridge : bridges) {
+				if(bridge.active.test(defender)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static <E extends Event> void publish(List<Bridge<E>> bridges, E evt, EntityLivingBase defender) {
+			for(Bridge<E> bridge : bridges) {
+				// Forge doesn't pass canceled events to listeners by default, so neither do
+				// bridges.
+				if(evt.isCanceled()) {
+					return;
+				}
+				if(bridge.active.test(defender)) {
+					bridge.listener.accept(evt);
+				}
+			}
+		}
+	}
+
+	private static int findBusID() {
+		try {
+			return ReflectionHelper.<Integer, EventBus>getPrivateValue(EventBus.class, MinecraftForge.EVENT_BUS, "busID");
+		}
+		catch(RuntimeException e) {
+			DistinctDamageDescriptions.warn("Couldn't find the Forge event bus ID, DDD events will always be posted.");
+			return -1;
+		}
+	}
 
-	private static <E extends Event> E fire(E evt, Consumer<E> callback) {
-		MinecraftForge.EVENT_BUS.post(evt);
-		callback.accept(evt);
-		return evt;
+	/**
+	 * Register a bridge for a DDD event. A bridge receives the event directly, and
+	 * the event is only constructed while at least one listener, bridge or
+	 * otherwise, is active. Bridges with a priority higher than
+	 * {@link EventPriority#NORMAL} receive the event before Forge event bus
+	 * listeners, the rest receive it after. Like Forge listeners, bridges don't
+	 * receive canceled events.
+	 *
+	 * @param type     the event type
+	 * @param priority the priority of the bridge
+	 * @param active   a predicate on the defender that is true when the bridge
+	 *                 needs to see the event
+	 * @param listener the bridge listener
+	 * @throws IllegalArgumentException if {@code type} isn't an event DDD fires
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Event> void addBridge(Class<E> type, EventPriority priority, Predicate<EntityLivingBase> active, Consumer<E> listener) {
+		Hook<E> hook = (Hook<E>) HOOKS.get(type);
+		if(hook == null) {
+			throw new IllegalArgumentException(type.getName() + " isn't fired by DDDHooks!");
+		}
+		hook.addBridge(priority, listener, active);
 	}
 
+	@Nullable
 	public static ShieldBlockEvent fireShieldBlock(Entity directAttacker, Entity indirectAttacker, @Nonnull EntityLivingBase defender, @Nonnull DamageSource src, @Nonnull DamageMap map, @Nonnull ItemStack shield) {
-		return fire(new ShieldBlockEvent(directAttacker, indirectAttacker, defender, src, map, shield), DeveloperModeKernel::onShieldBlockCallback);
+		return SHIELD_BLOCK.isObserved(defender) ? SHIELD_BLOCK.fire(new ShieldBlockEvent(directAttacker, indirectAttacker, defender, src, map, shield), defender) : null;
 	}
 
+	@Nullable
 	public static DetermineDamageEvent fireDetermineDamage(Entity directAttacker, Entity indirectAttacker, @Nonnull EntityLivingBase defender, @Nonnull DamageSource src, @Nonnull DamageMap map) {
-		return fire(new DetermineDamageEvent(directAttacker, indirectAttacker, defender, src, map), DeveloperModeKernel::onDetermineDamageCallback);
+		return DETERMINE_DAMAGE.isObserved(defender) ? DETERMINE_DAMAGE.fire(new DetermineDamageEvent(directAttacker, indirectAttacker, defender, src, map), defender) : null;
 	}
 
-	public static GatherDefensesEvent fireGatherDefenses(Entity directAttacker, Entity indirectAttacker, @Nonnull EntityLivingBase defender, @Nonnull DamageSource src, @Nonnull ResistMap map, @Nonnull Set<DDDDamageType> immunities) {
-		return fire(new GatherDefensesEvent(directAttacker, indirectAttacker, defender, src, map, immunities), DeveloperModeKernel::onGatherDefensesCallback);
+	@Nullable
+	public static GatherDefensesEvent fireGatherDefenses(Entity directAttacker, Entity indirectAttacker, @Nonnull EntityLivingBase defender, @Nonnull DamageSource src, @Nonnull ResistMap map, @Nonnull DamageTypeSet immunities, @Nonnull ResistMap mapBuffer, @Nonnull DamageTypeSet immunitiesBuffer) {
+		return GATHER_DEFENSES.isObserved(defender) ? GATHER_DEFENSES.fire(new GatherDefensesEvent(directAttacker, indirectAttacker, defender, src, map, immunities, mapBuffer, immunitiesBuffer), defender) : null;
 	}
 
+	@Nullable
 	public static UpdateAdaptiveResistanceEvent fireUpdateAdaptiveResistances(Entity directAttacker, Entity indirectAttacker, @Nonnull EntityLivingBase defender, @Nonnull DamageSource src, @Nonnull DamageMap map, @Nonnull ResistMap resists, @Nonnull Set<DDDDamageType> immunities) {
-		return fire(new UpdateAdaptiveResistanceEvent(directAttacker, indirectAttacker, defender, src, map, resists, immunities), DeveloperModeKernel::onUpdateAdaptabilityCallback);
+		return UPDATE_ADAPTIVE.isObserved(defender) ? UPDATE_ADAPTIVE.fire(new UpdateAdaptiveResistanceEvent(directAttacker, indirectAttacker, defender, src, map, resists, immunities), defender) : null;
 	}
 }
@@ -48,7 +48,7 @@ public final class UpdateAdaptiveResistanceEvent extends DDDCalculationEvent {
 	private float adaptiveAmount;
 
 	public UpdateAdaptiveResistanceEvent(@Nullable Entity attacker, @Nullable Entity trueAttacker, EntityLivingBase defender, DamageSource src, DamageMap dmg, ResistMap resists, Set<DDDDamageType> immunities) {
-		super(attacker, trueAttacker, defender, src, (DamageMap) dmg.clone());
+		super(attacker, trueAttacker, defender, src, dmg.copy());
 		this.immunities = immunities;
 		this.resists = resists;
 		this.adaptiveAmount = DDDAPI.accessor.getMobResistances(defender).get().getAdaptiveAmount();
@@ -11,6 +11,7 @@ import net.minecraft.util.DamageSource;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.eventhandler.Cancelable;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.util.DamageTypeSet;
 import yeelp.distinctdamagedescriptions.util.ResistMap;
 
 /**
@@ -25,8 +26,13 @@ import yeelp.distinctdamagedescriptions.util.ResistMap;
  */
 public final class GatherDefensesEvent extends DDDClassificationEvent {
 
-	private final ResistMap map;
-	private final Set<DDDDamageType> immunities;
+	private ResistMap map;
+	private Set<DDDDamageType> immunities;
+	// Where shared defenses are copied to on the first write. Null once copied,
+	// or if the defenses weren't shared to begin with.
+	private ResistMap mapBuffer;
+	private DamageTypeSet immunitiesBuffer;
+	private boolean changed;
 
 	/**
 	 * Construct a new event
@@ -44,6 +50,38 @@ public final class GatherDefensesEvent extends DDDClassificationEvent {
 		this.immunities = Objects.requireNonNull(immunities, "Immunities can't be null!");
 	}
 
+	/**
+	 * Construct a new event over shared defenses. The shared defenses are never
+	 * modified; the first change a listener makes copies them into the buffers,
+	 * and every change after that goes to the buffers.
+	 * 
+	 * @param attacker         The attacking entity
+	 * @param trueAttacker     The true attacking entity e.g. The shooter of the
+	 *                         projectile
+	 * @param defender         The defending entity
+	 * @param map              the shared map of resistances DDD found from
+	 *                         capabilities
+	 * @param immunities       the shared set of immunities DDD found from
+	 *                         capabilities
+	 * @param mapBuffer        where resistances are copied to if changed
+	 * @param immunitiesBuffer where immunities are copied to if changed
+	 */
+	public GatherDefensesEvent(@Nullable Entity attacker, @Nullable Entity trueAttacker, EntityLivingBase defender, DamageSource src, ResistMap map, DamageTypeSet immunities, ResistMap mapBuffer, DamageTypeSet immunitiesBuffer) {
+		this(attacker, trueAttacker, defender, src, map, immunities);
+		this.mapBuffer = Objects.requireNonNull(mapBuffer, "Resistance buffer can't be null!");
+		this.immunitiesBuffer = Objects.requireNonNull(immunitiesBuffer, "Immunity buffer can't be null!");
+	}
+
+	/**
+	 * Did any listener change the defender's resistances or immunities?
+	 * 
+	 * @return true if changed. If this event was constructed over shared
+	 *         defenses, the changed defenses are in the buffers.
+	 */
+	public boolean wereDefensesChanged() {
+		return this.changed;
+	}
+
 	/**
 	 * Get resistance
 	 * 
@@ -95,6 +133,7 @@ public final class GatherDefensesEvent extends DDDClassificationEvent {
 	 * @param amount
 	 */
 	public void setResistance(DDDDamageType type, float amount) {
+		this.beforeWrite();
 		this.map.put(type, amount);
 	}
 
@@ -104,6 +143,7 @@ public final class GatherDefensesEvent extends DDDClassificationEvent {
 	 * @param type
 	 */
 	public void addImmunity(DDDDamageType type) {
+		this.beforeWrite();
 		this.immunities.add(type);
 	}
 
@@ -113,6 +153,7 @@ public final class GatherDefensesEvent extends DDDClassificationEvent {
 	 * @param type
 	 */
 	public void removeImmunity(DDDDamageType type) {
+		this.beforeWrite();
 		this.immunities.remove(type);
 	}
 
@@ -120,6 +161,7 @@ public final class GatherDefensesEvent extends DDDClassificationEvent {
 	 * Clear all immunities
 	 */
 	public void clearImmunities() {
+		this.beforeWrite();
 		this.immunities.clear();
 	}
 
@@ -127,6 +169,20 @@ public final class GatherDefensesEvent extends DDDClassificationEvent {
 	 * Clear all resistances
 	 */
 	public void clearResistances() {
+		this.beforeWrite();
 		this.map.clear();
 	}
+
+	private void beforeWrite() {
+		if(this.mapBuffer != null) {
+			this.mapBuffer.copyFrom(this.map);
+			this.immunitiesBuffer.clear();
+			this.immunitiesBuffer.addAll(this.immunities);
+			this.map = this.mapBuffer;
+			this.immunities = this.immunitiesBuffer;
+			this.mapBuffer = null;
+			this.immunitiesBuffer = null;
+		}
+		this.changed = true;
+	}
 }
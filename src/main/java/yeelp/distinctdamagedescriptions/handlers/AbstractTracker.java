@@ -7,6 +7,8 @@ import java.util.UUID;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation.Stage;
 
 /**
  * A skeletal implementation of a tracker, Tracks entities on a
@@ -20,6 +22,7 @@ public abstract class AbstractTracker extends Handler {
 
 	@SubscribeEvent
 	public final void onEntityUpdate(final LivingUpdateEvent evt) {
+		long start = DDDInstrumentation.start();
 		EntityLivingBase entity = evt.getEntityLiving();
 		UUID id = entity.getUniqueID();
 		if(isTracking(id) && shouldStopTracking(entity)) {
@@ -28,6 +31,7 @@ public abstract class AbstractTracker extends Handler {
 		else if(shouldStartTracking(entity)) {
 			this.tracking.add(id);
 		}
+		DDDInstrumentation.record(Stage.TRACKERS, start);
 	}
 
 	public abstract boolean shouldStartTracking(EntityLivingBase entity);
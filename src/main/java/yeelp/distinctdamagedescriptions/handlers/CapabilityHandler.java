@@ -8,10 +8,17 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerChangedDimensionEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerRespawnEvent;
 import yeelp.distinctdamagedescriptions.ModConsts;
+import yeelp.distinctdamagedescriptions.api.DDDAPI;
 import yeelp.distinctdamagedescriptions.capability.distributors.DDDCapabilityDistributors;
 import yeelp.distinctdamagedescriptions.capability.impl.CreatureType;
+import yeelp.distinctdamagedescriptions.capability.impl.DamageResistances;
 import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation.Stage;
 
 public class CapabilityHandler extends Handler {
 
@@ -22,6 +29,7 @@ public class CapabilityHandler extends Handler {
 	public void attachEntityCapabilities(AttachCapabilitiesEvent<Entity> evt) {
 		Entity entity = evt.getObject();
 		if(entity != null) {
+			long start = DDDInstrumentation.start();
 			if(entity instanceof EntityPlayer) {
 				evt.addCapability(creatureType, CreatureType.UNKNOWN);
 				DDDCapabilityDistributors.getPlayerCapabilities((EntityPlayer) entity).forEach(evt::addCapability);
@@ -34,12 +42,48 @@ public class CapabilityHandler extends Handler {
 			else if(entity instanceof IProjectile) {
 				DDDCapabilityDistributors.getCapabilities((IProjectile) entity).ifPresent((m) -> m.forEach(evt::addCapability));
 			}
+			DDDInstrumentation.record(Stage.ENTITY_CAPABILITIES, start, entity);
 		}
 	}
 
 	@SuppressWarnings("static-method")
 	@SubscribeEvent
 	public void attachItemCapabilities(AttachCapabilitiesEvent<ItemStack> evt) {
+		long start = DDDInstrumentation.start();
 		DDDCapabilityDistributors.getCapabilities(evt.getObject()).forEach(evt::addCapability);
+		DDDInstrumentation.record(Stage.ITEM_CAPABILITIES, start);
+	}
+
+	@SuppressWarnings("static-method")
+	@SubscribeEvent
+	public void onPlayerLogin(PlayerLoggedInEvent evt) {
+		syncInFull(evt.player);
+	}
+
+	@SuppressWarnings("static-method")
+	@SubscribeEvent
+	public void onPlayerRespawn(PlayerRespawnEvent evt) {
+		syncInFull(evt.player);
+	}
+
+	@SuppressWarnings("static-method")
+	@SubscribeEvent
+	public void onPlayerChangeDimension(PlayerChangedDimensionEvent evt) {
+		syncInFull(evt.player);
+	}
+
+	/**
+	 * Sync all of a player's resistances, for when the client's copy may have been
+	 * reset.
+	 * 
+	 * @param player the player
+	 */
+	private static void syncInFull(EntityPlayer player) {
+		DDDAPI.accessor.getMobResistances(player).ifPresent((resists) -> {
+			if(resists instanceof DamageResistances) {
+				((DamageResistances) resists).requestFullSync();
+			}
+			resists.sync(player);
+		});
 	}
 }
@@ -13,8 +13,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundEvent;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import yeelp.distinctdamagedescriptions.ModConsts;
-import yeelp.distinctdamagedescriptions.handlers.PacketHandler;
-import yeelp.distinctdamagedescriptions.network.SoundMessage;
+import yeelp.distinctdamagedescriptions.util.DDDEffects;
 import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.CombatResults;
 
 public final class DDDSounds {
@@ -126,21 +125,22 @@ public final class DDDSounds {
 
 	public static boolean playSound(EntityPlayer player, SoundEvent name, float vol, float pitch) {
 		if(player instanceof EntityPlayerMP) {
-			PacketHandler.INSTANCE.sendTo(new SoundMessage(encodeSoundID(name.getRegistryName().toString()), vol, pitch), (EntityPlayerMP) player);
+			DDDEffects.addSound((EntityPlayerMP) player, name, vol, pitch);
 			return true;
 		}
 		return false;
 	}
 
-	public static byte encodeSoundID(String id) {
-		if(ID_LIST.contains(id)) {
-			return (byte) ID_LIST.indexOf(id);
+	public static int encodeSoundID(String id) {
+		int index = ID_LIST.indexOf(id);
+		if(index >= 0) {
+			return index;
 		}
 		throw new RuntimeException(String.format("Can't encode Distinct Damage Description SoundID %s!", id));
 	}
 
-	public static String decodeSoundID(byte id) {
-		if(ID_LIST.size() > id) // id is zero indexed, size isn't. Equality edge case not needed.
+	public static String decodeSoundID(int id) {
+		if(id >= 0 && ID_LIST.size() > id) // id is zero indexed, size isn't. Equality edge case not needed.
 		{
 			return ID_LIST.get(id);
 		}
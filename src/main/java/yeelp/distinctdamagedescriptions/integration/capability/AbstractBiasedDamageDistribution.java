@@ -1,5 +1,6 @@
 package yeelp.distinctdamagedescriptions.integration.capability;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,16 +26,33 @@ public abstract class AbstractBiasedDamageDistribution extends DamageDistributio
 
 	protected abstract Set<DDDBaseMap<Float>> computeBiasedMaps(ItemStack owner);
 
+	/**
+	 * Get a canonical signature of everything besides its item that
+	 * {@link #computeBiasedMaps(ItemStack)} depends on for a stack, like its
+	 * materials. Stacks of the same item with equal signatures share computed
+	 * weights.
+	 * 
+	 * @param owner the stack
+	 * @return the signature
+	 * @see MaterialDistributionCache
+	 */
+	protected abstract List<String> getMaterialSignature(ItemStack owner);
+
 	@Override
 	public IDamageDistribution update(ItemStack owner) {
-		Set<DDDBaseMap<Float>> maps = this.computeBiasedMaps(owner);
-		int size = maps.size();
-		if(size != 0) {
-			Map<DDDDamageType, Float> newWeights = new DDDBaseMap<Float>(() -> 0.0f);
-			maps.forEach((m) -> m.forEach((k, v) -> newWeights.merge(k, v / size, Float::sum)));
-			this.setNewWeights(newWeights);
+		Map<DDDDamageType, Float> weights = MaterialDistributionCache.getOrdered(owner.getItem(), this.getMaterialSignature(owner), () -> this.computeWeights(owner));
+		if(!weights.isEmpty()) {
+			this.setNewWeights(weights);
 		}
 		return super.update(owner);
 	}
 
+	private Map<DDDDamageType, Float> computeWeights(ItemStack owner) {
+		Set<DDDBaseMap<Float>> maps = this.computeBiasedMaps(owner);
+		int size = maps.size();
+		Map<DDDDamageType, Float> newWeights = new DDDBaseMap<Float>(() -> 0.0f);
+		maps.forEach((m) -> m.forEach((k, v) -> newWeights.merge(k, v / size, Float::sum)));
+		return newWeights;
+	}
+
 }
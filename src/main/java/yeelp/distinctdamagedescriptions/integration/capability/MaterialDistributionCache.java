@@ -0,0 +1,116 @@
+package yeelp.distinctdamagedescriptions.integration.capability;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
+
+import net.minecraft.item.Item;
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+
+/**
+ * Weights computed from the materials or parts an item stack is made of. Tools
+ * and armor made of the same materials get the same weights, so they're
+ * computed once and shared, keyed by the item and a canonical signature of its
+ * materials.
+ * <p>
+ * The cache is bounded and thread safe, and weights for a key are computed at
+ * most once even when several threads ask for them together. Entries are also
+ * keyed by a config epoch, which {@link #invalidate()} advances, so weights
+ * computed from an old config are never returned after it changes.
+ *
+ * @author Yeelp
+ *
+ */
+public final class MaterialDistributionCache {
+	private static final int MAX_SIZE = 2048;
+	private static final Cache<Key, Map<DDDDamageType, Float>> CACHE = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+	private static volatile int epoch = 0;
+
+	private MaterialDistributionCache() {
+		throw new UnsupportedOperationException("Class can't be instantiated!");
+	}
+
+	private static final class Key {
+		private final Item item;
+		private final List<String> signature;
+		private final int epoch;
+		private final int hash;
+
+		Key(Item item, List<String> signature, int epoch) {
+			this.item = item;
+			this.signature = signature;
+			this.epoch = epoch;
+			this.hash = Objects.hash(item, signature, epoch);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(obj == this) {
+				return true;
+			}
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) obj;
+			return this.item == key.item && this.epoch == key.epoch && this.signature.equals(key.signature);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+
+	/**
+	 * Get the weights for an item made of some materials, computing them if they
+	 * aren't cached.
+	 *
+	 * @param item      the item
+	 * @param materials the materials or parts the weights are computed from. Order
+	 *                  doesn't matter.
+	 * @param compute   computes the weights. Should depend only on {@code item},
+	 *                  {@code materials} and config.
+	 * @return an immutable map of the weights. Empty if there's nothing to apply.
+	 */
+	public static Map<DDDDamageType, Float> get(Item item, Collection<String> materials, Supplier<Map<DDDDamageType, Float>> compute) {
+		return getOrdered(item, Ordering.natural().immutableSortedCopy(materials), compute);
+	}
+
+	/**
+	 * Get the weights for an item whose signature is already canonical, like a
+	 * fixed sequence of NBT values.
+	 *
+	 * @param item      the item
+	 * @param signature the signature. Order matters.
+	 * @param compute   computes the weights
+	 * @return an immutable map of the weights. Empty if there's nothing to apply.
+	 * @see #get(Item, Collection, Supplier)
+	 */
+	public static Map<DDDDamageType, Float> getOrdered(Item item, List<String> signature, Supplier<Map<DDDDamageType, Float>> compute) {
+		Key key = new Key(item, ImmutableList.copyOf(signature), epoch);
+		try {
+			return CACHE.get(key, () -> ImmutableMap.copyOf(compute.get()));
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("Couldn't compute weights for " + item.getRegistryName(), e.getCause());
+		}
+	}
+
+	/**
+	 * Drop all cached weights. Should be called whenever config that weights are
+	 * computed from changes.
+	 */
+	public static void invalidate() {
+		epoch++;
+		CACHE.invalidateAll();
+	}
+}
@@ -3,8 +3,8 @@ package yeelp.distinctdamagedescriptions.integration.crafttweaker.events;
 import com.google.common.collect.ImmutableList;
 
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import yeelp.distinctdamagedescriptions.ModConsts;
+import yeelp.distinctdamagedescriptions.event.DDDHooks;
 import yeelp.distinctdamagedescriptions.event.calculation.ShieldBlockEvent;
 import yeelp.distinctdamagedescriptions.event.calculation.UpdateAdaptiveResistanceEvent;
 import yeelp.distinctdamagedescriptions.event.classification.DetermineDamageEvent;
@@ -14,27 +14,33 @@ import yeelp.distinctdamagedescriptions.integration.IModIntegration;
 
 public final class CTEventHandler extends Handler implements IModIntegration {
 
-	@SuppressWarnings("static-method")
-	@SubscribeEvent(priority = EventPriority.LOWEST)
-	public void onDetermineDamage(DetermineDamageEvent evt) {
+	/**
+	 * Bridges DDD's events to CraftTweaker. The bridges only count as listeners
+	 * while a script has registered a handler for that event, so DDD doesn't
+	 * construct events just to hand them to an empty event list.
+	 */
+	@Override
+	public boolean register() {
+		DDDHooks.addBridge(DetermineDamageEvent.class, EventPriority.LOWEST, (defender) -> CTDDDEventManager.DETERMINE_DAMAGE.hasHandlers(), CTEventHandler::onDetermineDamage);
+		DDDHooks.addBridge(GatherDefensesEvent.class, EventPriority.LOWEST, (defender) -> CTDDDEventManager.GATHER_DEFENSES.hasHandlers(), CTEventHandler::onGatherDefenses);
+		DDDHooks.addBridge(ShieldBlockEvent.class, EventPriority.LOWEST, (defender) -> CTDDDEventManager.SHIELD_BLOCK.hasHandlers(), CTEventHandler::onShieldBlock);
+		DDDHooks.addBridge(UpdateAdaptiveResistanceEvent.class, EventPriority.LOWEST, (defender) -> CTDDDEventManager.UPDATE_ADAPTIVE.hasHandlers(), CTEventHandler::onUpdateAdpativeResistances);
+		return true;
+	}
+
+	public static void onDetermineDamage(DetermineDamageEvent evt) {
 		CTDDDEventManager.DETERMINE_DAMAGE.publish(new CTDetermineDamageEvent(evt));
 	}
 
-	@SuppressWarnings("static-method")
-	@SubscribeEvent(priority = EventPriority.LOWEST)
-	public void onGatherDefenses(GatherDefensesEvent evt) {
+	public static void onGatherDefenses(GatherDefensesEvent evt) {
 		CTDDDEventManager.GATHER_DEFENSES.publish(new CTGatherDefensesEvent(evt));
 	}
 
-	@SuppressWarnings("static-method")
-	@SubscribeEvent(priority = EventPriority.LOWEST)
-	public void onShieldBlock(ShieldBlockEvent evt) {
+	public static void onShieldBlock(ShieldBlockEvent evt) {
 		CTDDDEventManager.SHIELD_BLOCK.publish(new CTShieldBlockEvent(evt));
 	}
 
-	@SuppressWarnings("static-method")
-	@SubscribeEvent(priority = EventPriority.LOWEST)
-	public void onUpdateAdpativeResistances(UpdateAdaptiveResistanceEvent evt) {
+	public static void onUpdateAdpativeResistances(UpdateAdaptiveResistanceEvent evt) {
 		CTDDDEventManager.UPDATE_ADAPTIVE.publish(new CTUpdateAdaptiveResistancesEvent(evt));
 	}
 
@@ -47,4 +53,4 @@ public final class CTEventHandler extends Handler implements IModIntegration {
 	public Iterable<Handler> getHandlers() {
 		return ImmutableList.of(this);
 	}
-}
\ No newline at end of file
+}
@@ -7,7 +7,6 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import com.google.common.base.Functions;
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableSet;
 import com.lycanitesmobs.core.item.equipment.ItemEquipment;
@@ -24,6 +23,7 @@ import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
 import yeelp.distinctdamagedescriptions.capability.impl.DamageDistribution;
 import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
+import yeelp.distinctdamagedescriptions.integration.capability.MaterialDistributionCache;
 import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
 import yeelp.distinctdamagedescriptions.util.lib.YResources;
 
@@ -31,7 +31,6 @@ public final class LycanitesEquipmentDistribution extends DamageDistribution {
 
 	private static final Set<String> acceptableParts = ImmutableSet.of("blade", "axe", "pike", "jewel");
 	private static final Predicate<ItemEquipmentPart> filter = Predicates.and(Objects::nonNull, Predicates.compose(acceptableParts::contains, (i) -> i.slotType));
-	private List<ItemEquipmentPart> cachedUsefulParts;
 
 	@CapabilityInject(LycanitesEquipmentDistribution.class)
 	public static Capability<LycanitesEquipmentDistribution> cap;
@@ -49,15 +48,15 @@ public final class LycanitesEquipmentDistribution extends DamageDistribution {
 	@Override
 	public IDamageDistribution update(ItemStack owner) {
 		ItemEquipment equipment = (ItemEquipment) owner.getItem();
-		Map<DDDDamageType, Float> map = new DDDBaseMap<Float>(() -> 0.0f);
-		List<ItemEquipmentPart> parts = equipment.getEquipmentPartStacks(owner).stream().map(equipment::getEquipmentPart).filter(filter).collect(Collectors.toList());
-		if(this.cachedUsefulParts == null || !(parts.size() == this.cachedUsefulParts.size() && this.cachedUsefulParts.containsAll(parts))) {
-			List<IDamageDistribution> dists = parts.stream().map(Functions.<ItemEquipmentPart, String, IDamageDistribution>compose(DDDConfigurations.items::getOrFallbackToDefault, YResources::getRegistryString)).collect(Collectors.toList());
-			if(!dists.isEmpty()) {
-				dists.forEach((d) -> d.getCategories().forEach((type) -> map.merge(type, d.getWeight(type) / dists.size(), Float::sum)));
-				this.setNewWeights(map);
-				this.cachedUsefulParts = parts;
-			}
+		List<String> parts = equipment.getEquipmentPartStacks(owner).stream().map(equipment::getEquipmentPart).filter(filter).map(YResources::getRegistryString).collect(Collectors.toList());
+		Map<DDDDamageType, Float> weights = MaterialDistributionCache.get(equipment, parts, () -> {
+			Map<DDDDamageType, Float> map = new DDDBaseMap<Float>(() -> 0.0f);
+			List<IDamageDistribution> dists = parts.stream().map(DDDConfigurations.items::getOrFallbackToDefault).collect(Collectors.toList());
+			dists.forEach((d) -> d.getCategories().forEach((type) -> map.merge(type, d.getWeight(type) / dists.size(), Float::sum)));
+			return map;
+		});
+		if(!weights.isEmpty()) {
+			this.setNewWeights(weights);
 		}
 		return super.update(owner);
 	}
@@ -3,6 +3,7 @@ package yeelp.distinctdamagedescriptions.integration.lycanites.capability.distri
 import com.lycanitesmobs.core.item.equipment.ItemEquipment;
 
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
 import yeelp.distinctdamagedescriptions.capability.distributors.AbstractCapabilityDistributor;
 import yeelp.distinctdamagedescriptions.capability.distributors.DamageDistributionCapabilityDistributor;
@@ -32,6 +33,11 @@ public class LycanitesDamageDistributionDistributor extends AbstractCapabilityDi
 		return null;
 	}
 
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return LycanitesEquipmentDistribution.cap;
+	}
+
 	public static LycanitesDamageDistributionDistributor getInstance() {
 		return instance == null ? instance = new LycanitesDamageDistributionDistributor() : instance;
 	}
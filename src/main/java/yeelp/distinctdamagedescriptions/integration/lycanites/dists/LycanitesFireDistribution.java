@@ -12,6 +12,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableSet;
 import com.lycanitesmobs.ObjectManager;
 import com.lycanitesmobs.core.block.BlockFireBase;
 
@@ -84,6 +85,11 @@ public final class LycanitesFireDistribution implements DDDPredefinedDistributio
 		return 2;
 	}
 
+	@Override
+	public Set<DamageSource> getApplicableSources() {
+		return ImmutableSet.of(this.src);
+	}
+
 	private Set<DDDDamageType> getTypes() {
 		return this.getDamageDistribution().getCategories();
 	}
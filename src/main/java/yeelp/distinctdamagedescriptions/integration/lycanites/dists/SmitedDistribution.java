@@ -1,7 +1,9 @@
 package yeelp.distinctdamagedescriptions.integration.lycanites.dists;
 
 import java.util.Optional;
+import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
 import com.lycanitesmobs.ObjectManager;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -39,6 +41,11 @@ public class SmitedDistribution extends AbstractSingleTypeDist {
 		return source == DamageSource.ON_FIRE && SMITED_POTION.map(target::isPotionActive).orElse(false);
 	}
 
+	@Override
+	public Set<DamageSource> getApplicableSources() {
+		return ImmutableSet.of(DamageSource.ON_FIRE);
+	}
+
 	@Override
 	public int priority() {
 		return 2;
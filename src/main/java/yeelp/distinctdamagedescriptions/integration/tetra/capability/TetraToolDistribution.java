@@ -1,12 +1,15 @@
 package yeelp.distinctdamagedescriptions.integration.tetra.capability;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -72,6 +75,25 @@ public final class TetraToolDistribution extends AbstractBiasedDamageDistributio
 		return ImmutableSet.of();
 	}
 
+	@Override
+	protected List<String> getMaterialSignature(ItemStack owner) {
+		NBTTagCompound tag = NBTHelper.getTag(owner);
+		if(owner.getItem() instanceof ItemSwordModular) {
+			return signatureOf(tag, TetraNBT.SWORD_ROOT);
+		}
+		else if(owner.getItem() instanceof ItemDuplexToolModular) {
+			List<String> signature = Lists.newArrayList(signatureOf(tag, TetraNBT.DUPLEX_ROOT + "_left"));
+			signature.addAll(signatureOf(tag, TetraNBT.DUPLEX_ROOT + "_right"));
+			return signature;
+		}
+		return ImmutableList.of();
+	}
+
+	private static List<String> signatureOf(NBTTagCompound tag, String root) {
+		String type = tag.getString(root);
+		return ImmutableList.of(type, tag.getString(type.concat(TetraNBT.MATERIAL_SUFFIX)));
+	}
+
 	private static Optional<String> getMaterial(NBTTagCompound tag, String root) {
 		String[] arr = tag.getString(root.concat(TetraNBT.MATERIAL_SUFFIX)).split("/");
 		return Optional.ofNullable(arr.length == 2 ? arr[1] : null);
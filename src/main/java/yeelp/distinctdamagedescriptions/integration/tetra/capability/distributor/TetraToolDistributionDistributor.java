@@ -1,6 +1,7 @@
 package yeelp.distinctdamagedescriptions.integration.tetra.capability.distributor;
 
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.capabilities.Capability;
 import se.mickelus.tetra.items.duplex_tool.ItemDuplexToolModular;
 import se.mickelus.tetra.items.sword.ItemSwordModular;
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
@@ -35,6 +36,11 @@ public final class TetraToolDistributionDistributor extends AbstractCapabilityDi
 		return null;
 	}
 
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return TetraToolDistribution.cap;
+	}
+
 	public static TetraToolDistributionDistributor getInstance() {
 		return instance == null ? instance = new TetraToolDistributionDistributor() : instance;
 	}
@@ -14,6 +14,7 @@ import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.capability.DDDCapabilityBase;
 import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
 import yeelp.distinctdamagedescriptions.capability.impl.ArmorDistribution;
+import yeelp.distinctdamagedescriptions.integration.capability.MaterialDistributionCache;
 import yeelp.distinctdamagedescriptions.integration.tic.TiCConfigurations;
 import yeelp.distinctdamagedescriptions.integration.tic.TiCUtil;
 import yeelp.distinctdamagedescriptions.util.DDDBaseMap;
@@ -23,8 +24,6 @@ public class ConarmArmorDistribution extends ArmorDistribution {
 	@CapabilityInject(ConarmArmorDistribution.class)
 	public static Capability<ConarmArmorDistribution> cap;
 
-	private Collection<String> cachedMats;
-
 	@Override
 	public boolean hasCapability(Capability<?> capability, EnumFacing facing) {
 		return capability == cap;
@@ -38,15 +37,17 @@ public class ConarmArmorDistribution extends ArmorDistribution {
 	@Override
 	public IArmorDistribution update(ItemStack owner) {
 		Collection<String> mats = TiCUtil.getKeyMaterialIdentifiers(owner, ArmorMaterialType.PLATES);
-		if(this.cachedMats == null || !this.cachedMats.containsAll(mats)) {
+		Map<DDDDamageType, Float> weights = MaterialDistributionCache.get(owner.getItem(), mats, () -> {
 			Map<DDDDamageType, Float> map = new DDDBaseMap<Float>(() -> 0.0f);
 			mats.forEach((mat) -> {
 				IArmorDistribution dist = TiCConfigurations.armorMaterialDist.getOrFallbackToDefault(mat);
 				dist.getCategories().forEach((t) -> map.merge(t, dist.getWeight(t) / mats.size(), Float::sum));
 			});
 			TiCUtil.getBaseDist(owner).forEach((t, f) -> map.merge(t, f, Float::sum));
-			this.setNewWeights(map);
-			this.cachedMats = mats;
+			return map;
+		});
+		if(!weights.isEmpty()) {
+			this.setNewWeights(weights);
 		}
 		return super.update(owner);
 	}
@@ -2,6 +2,7 @@ package yeelp.distinctdamagedescriptions.integration.tic.conarm.capability.distr
 
 import c4.conarm.lib.tinkering.TinkersArmor;
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.capabilities.Capability;
 import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
 import yeelp.distinctdamagedescriptions.capability.distributors.AbstractCapabilityDistributor;
 import yeelp.distinctdamagedescriptions.capability.distributors.ArmorDistributionCapabilityDistributor;
@@ -30,6 +31,11 @@ public class ConarmArmorDistributor extends AbstractCapabilityDistributor<ItemSt
 		return null;
 	}
 
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return ConarmArmorDistribution.cap;
+	}
+
 	public static ConarmArmorDistributor getInstance() {
 		return instance == null ? instance = new ConarmArmorDistributor() : instance;
 	}
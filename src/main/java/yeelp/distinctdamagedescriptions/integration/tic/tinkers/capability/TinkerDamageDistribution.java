@@ -1,7 +1,7 @@
 package yeelp.distinctdamagedescriptions.integration.tic.tinkers.capability;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.base.Functions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
 
 import net.minecraft.entity.IProjectile;
 import net.minecraft.item.ItemStack;
@@ -33,8 +34,6 @@ public class TinkerDamageDistribution extends AbstractBiasedDamageDistribution {
 	@CapabilityInject(TinkerDamageDistribution.class)
 	public static Capability<TinkerDamageDistribution> cap = null;
 
-	private Collection<String> cachedKeys;
-
 	public TinkerDamageDistribution() {
 		super();
 	}
@@ -67,16 +66,14 @@ public class TinkerDamageDistribution extends AbstractBiasedDamageDistribution {
 	@Override
 	protected Set<DDDBaseMap<Float>> computeBiasedMaps(ItemStack owner) {
 		Collection<String> mats = TiCUtil.getKeyMaterialIdentifiers(owner, MaterialTypes.HEAD);
-		if(this.cachedKeys == null || !this.cachedKeys.containsAll(mats)) {
-			float biasResist = TiCConfigurations.toolBiasResistance.getOrFallbackToDefault(YResources.getRegistryString(owner));
-			DDDBaseMap<Float> base = TiCUtil.getBaseDist(owner);
-			Set<DDDBaseMap<Float>> dists = mats.stream().map(Functions.compose((b) -> b.getBiasedDistributionMap(base, biasResist), TiCConfigurations.toolMaterialBias::getOrFallbackToDefault)).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toSet());
-			if(dists.size() > 0) {
-				this.cachedKeys = mats;
-				return dists;
-			}
-		}
-		return Collections.emptySet();
+		float biasResist = TiCConfigurations.toolBiasResistance.getOrFallbackToDefault(YResources.getRegistryString(owner));
+		DDDBaseMap<Float> base = TiCUtil.getBaseDist(owner);
+		return mats.stream().map(Functions.compose((b) -> b.getBiasedDistributionMap(base, biasResist), TiCConfigurations.toolMaterialBias::getOrFallbackToDefault)).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toSet());
+	}
+
+	@Override
+	protected List<String> getMaterialSignature(ItemStack owner) {
+		return Ordering.natural().sortedCopy(TiCUtil.getKeyMaterialIdentifiers(owner, MaterialTypes.HEAD));
 	}
 
 	public static void register() {
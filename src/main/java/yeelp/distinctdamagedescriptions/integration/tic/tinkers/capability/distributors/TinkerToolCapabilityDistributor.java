@@ -1,6 +1,7 @@
 package yeelp.distinctdamagedescriptions.integration.tic.tinkers.capability.distributors;
 
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.capabilities.Capability;
 import slimeknights.tconstruct.library.tools.TinkerToolCore;
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
 import yeelp.distinctdamagedescriptions.capability.distributors.AbstractCapabilityDistributor;
@@ -32,6 +33,11 @@ public final class TinkerToolCapabilityDistributor extends AbstractCapabilityDis
 		return DDDConfigurations.items;
 	}
 
+	@Override
+	protected Capability<?> getCapabilityType() {
+		return TinkerDamageDistribution.cap;
+	}
+
 	public static TinkerToolCapabilityDistributor getInstance() {
 		return instance == null ? instance = new TinkerToolCapabilityDistributor() : instance;
 	}
@@ -21,7 +21,11 @@ public abstract class AbstractCapabilityMessage<T extends NBTBase> implements IM
 	}
 
 	public AbstractCapabilityMessage(ICapabilitySerializable<T> capability) {
-		this.nbt = capability.serializeNBT();
+		this(capability.serializeNBT());
+	}
+
+	protected AbstractCapabilityMessage(T nbt) {
+		this.nbt = nbt;
 	}
 
 	public T serializeNBT() {
@@ -0,0 +1,253 @@
+package yeelp.distinctdamagedescriptions.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import yeelp.distinctdamagedescriptions.DistinctDamageDescriptions;
+import yeelp.distinctdamagedescriptions.client.render.particle.DDDParticle;
+import yeelp.distinctdamagedescriptions.client.render.particle.DDDParticleType;
+import yeelp.distinctdamagedescriptions.init.DDDSounds;
+
+/**
+ * All combat particles and sounds a player should see in a single server tick.
+ * Particles are grouped in clusters anchored on the entity they spawn around,
+ * and each particle is sent as a quantized offset from that anchor. Sounds are
+ * deduplicated, so a sound plays at most once per message.
+ *
+ * @author Yeelp
+ *
+ */
+public final class CombatEffectsMessage implements IMessage {
+	/**
+	 * Particle offsets are sent in 1/256ths of a block.
+	 */
+	private static final float OFFSET_SCALE = 256.0f;
+
+	private final List<ParticleCluster> clusters = new ArrayList<ParticleCluster>();
+	private int soundCount = 0;
+	private int[] soundIDs = new int[2];
+	private float[] volumes = new float[2];
+	private float[] pitches = new float[2];
+
+	public static final class ParticleCluster {
+		private final int entityID;
+		private final double x, y, z;
+		private int size = 0;
+		private int[] types = new int[4];
+		private short[] offsets = new short[12];
+
+		ParticleCluster(int entityID, double x, double y, double z) {
+			this.entityID = entityID;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+
+		/**
+		 * Add a particle to this cluster
+		 *
+		 * @param type the particle type
+		 * @param dx   x offset from this cluster's anchor
+		 * @param dy   y offset from this cluster's anchor
+		 * @param dz   z offset from this cluster's anchor
+		 */
+		public void addParticle(DDDParticleType type, double dx, double dy, double dz) {
+			this.add(type.ordinal(), quantize(dx), quantize(dy), quantize(dz));
+		}
+
+		public int size() {
+			return this.size;
+		}
+
+		public DDDParticleType getType(int index) {
+			return DDDParticleType.values()[this.types[index]];
+		}
+
+		public double getX(int index) {
+			return this.x + this.offsets[3 * index] / OFFSET_SCALE;
+		}
+
+		public double getY(int index) {
+			return this.y + this.offsets[3 * index + 1] / OFFSET_SCALE;
+		}
+
+		public double getZ(int index) {
+			return this.z + this.offsets[3 * index + 2] / OFFSET_SCALE;
+		}
+
+		private void add(int type, short dx, short dy, short dz) {
+			if(this.size == this.types.length) {
+				this.types = Arrays.copyOf(this.types, 2 * this.size);
+				this.offsets = Arrays.copyOf(this.offsets, 6 * this.size);
+			}
+			this.types[this.size] = type;
+			int i = 3 * this.size++;
+			this.offsets[i] = dx;
+			this.offsets[i + 1] = dy;
+			this.offsets[i + 2] = dz;
+		}
+
+		private static short quantize(double offset) {
+			return (short) Math.round(MathHelper.clamp(offset * OFFSET_SCALE, Short.MIN_VALUE, Short.MAX_VALUE));
+		}
+	}
+
+	public CombatEffectsMessage() {
+
+	}
+
+	/**
+	 * Get the particle cluster anchored at an entity, creating it if it doesn't
+	 * exist yet. The anchor is the entity's eye position at the time the cluster
+	 * is created.
+	 *
+	 * @param anchor the entity particles will spawn around
+	 * @return the cluster for {@code anchor}
+	 */
+	public ParticleCluster getCluster(Entity anchor) {
+		for(ParticleCluster cluster : this.clusters) {
+			if(cluster.entityID == anchor.getEntityId()) {
+				return cluster;
+			}
+		}
+		ParticleCluster cluster = new ParticleCluster(anchor.getEntityId(), anchor.posX, anchor.posY + anchor.getEyeHeight(), anchor.posZ);
+		this.clusters.add(cluster);
+		return cluster;
+	}
+
+	/**
+	 * Add a sound to this message. If the sound is already part of this message,
+	 * this does nothing.
+	 *
+	 * @param sound  the sound to play
+	 * @param volume the volume
+	 * @param pitch  the pitch
+	 */
+	public void addSound(SoundEvent sound, float volume, float pitch) {
+		int id = DDDSounds.encodeSoundID(sound.getRegistryName().toString());
+		for(int i = 0; i < this.soundCount; i++) {
+			if(this.soundIDs[i] == id) {
+				return;
+			}
+		}
+		if(this.soundCount == this.soundIDs.length) {
+			this.growSounds(2 * this.soundCount);
+		}
+		this.soundIDs[this.soundCount] = id;
+		this.volumes[this.soundCount] = volume;
+		this.pitches[this.soundCount++] = pitch;
+	}
+
+	public List<ParticleCluster> getClusters() {
+		return this.clusters;
+	}
+
+	public int getSoundCount() {
+		return this.soundCount;
+	}
+
+	public boolean isEmpty() {
+		return this.soundCount == 0 && this.clusters.isEmpty();
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		PacketBuffer pakBuf = new PacketBuffer(buf);
+		int clusterCount = pakBuf.readVarInt();
+		for(int i = 0; i < clusterCount; i++) {
+			ParticleCluster cluster = new ParticleCluster(-1, pakBuf.readDouble(), pakBuf.readDouble(), pakBuf.readDouble());
+			int particles = pakBuf.readVarInt();
+			for(int j = 0; j < particles; j++) {
+				cluster.add(pakBuf.readVarInt(), pakBuf.readShort(), pakBuf.readShort(), pakBuf.readShort());
+			}
+			this.clusters.add(cluster);
+		}
+		this.soundCount = pakBuf.readVarInt();
+		this.growSounds(this.soundCount);
+		for(int i = 0; i < this.soundCount; i++) {
+			this.soundIDs[i] = pakBuf.readVarInt();
+			this.volumes[i] = pakBuf.readFloat();
+			this.pitches[i] = pakBuf.readFloat();
+		}
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		PacketBuffer pakBuf = new PacketBuffer(buf);
+		pakBuf.writeVarInt(this.clusters.size());
+		for(ParticleCluster cluster : this.clusters) {
+			pakBuf.writeDouble(cluster.x);
+			pakBuf.writeDouble(cluster.y);
+			pakBuf.writeDouble(cluster.z);
+			pakBuf.writeVarInt(cluster.size);
+			for(int i = 0; i < cluster.size; i++) {
+				pakBuf.writeVarInt(cluster.types[i]);
+				pakBuf.writeShort(cluster.offsets[3 * i]);
+				pakBuf.writeShort(cluster.offsets[3 * i + 1]);
+				pakBuf.writeShort(cluster.offsets[3 * i + 2]);
+			}
+		}
+		pakBuf.writeVarInt(this.soundCount);
+		for(int i = 0; i < this.soundCount; i++) {
+			pakBuf.writeVarInt(this.soundIDs[i]);
+			pakBuf.writeFloat(this.volumes[i]);
+			pakBuf.writeFloat(this.pitches[i]);
+		}
+	}
+
+	private void growSounds(int length) {
+		if(length > this.soundIDs.length) {
+			this.soundIDs = Arrays.copyOf(this.soundIDs, length);
+			this.volumes = Arrays.copyOf(this.volumes, length);
+			this.pitches = Arrays.copyOf(this.pitches, length);
+		}
+	}
+
+	public static final class Handler implements IMessageHandler<CombatEffectsMessage, IMessage> {
+		@Override
+		@SideOnly(Side.CLIENT)
+		public IMessage onMessage(CombatEffectsMessage message, MessageContext ctx) {
+			FMLCommonHandler.instance().getWorldThread(ctx.netHandler).addScheduledTask(() -> handle(message, ctx));
+			return null;
+		}
+
+		@SideOnly(Side.CLIENT)
+		public static void handle(CombatEffectsMessage msg, MessageContext ctx) {
+			EntityPlayer receivingPlayer = NetworkHelper.getSidedPlayer(ctx);
+			if(receivingPlayer == null) {
+				return;
+			}
+			if(!receivingPlayer.world.isRemote) {
+				DistinctDamageDescriptions.fatal("Combat Effects Message should not be received server side!");
+				return;
+			}
+			for(ParticleCluster cluster : msg.getClusters()) {
+				for(int i = 0; i < cluster.size(); i++) {
+					Minecraft.getMinecraft().effectRenderer.addEffect(new DDDParticle(receivingPlayer.world, cluster.getX(i), cluster.getY(i), cluster.getZ(i), 0, 4, 0, cluster.getType(i)));
+				}
+			}
+			for(int i = 0; i < msg.getSoundCount(); i++) {
+				SoundEvent sound = ForgeRegistries.SOUND_EVENTS.getValue(new ResourceLocation(DDDSounds.decodeSoundID(msg.soundIDs[i])));
+				if(sound != null) {
+					receivingPlayer.playSound(sound, msg.volumes[i], msg.pitches[i]);
+				}
+			}
+		}
+	}
+}
@@ -9,10 +9,41 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import yeelp.distinctdamagedescriptions.api.DDDAPI;
 import yeelp.distinctdamagedescriptions.capability.IMobResistances;
+import yeelp.distinctdamagedescriptions.capability.impl.DamageResistances;
+import yeelp.distinctdamagedescriptions.capability.impl.MobResistances;
 
+/**
+ * Syncs a player's mob resistances. Carries either a full snapshot as NBT, or a
+ * binary delta of what changed since the last sync.
+ * 
+ * @author Yeelp
+ *
+ */
 public class MobResistancesMessage extends AbstractCapabilityMessage<NBTTagCompound> {
+	private byte[] delta;
+
 	public MobResistancesMessage(IMobResistances mobResists) {
-		super(mobResists);
+		// always sync in full, the client's configured values may not match the server's.
+		this(mobResists instanceof DamageResistances ? ((DamageResistances) mobResists).serializeNBT(false) : mobResists.serializeNBT());
+	}
+
+	/**
+	 * Create a full snapshot message
+	 * 
+	 * @param nbt the full serialized resistances
+	 */
+	public MobResistancesMessage(NBTTagCompound nbt) {
+		super(nbt);
+	}
+
+	/**
+	 * Create a delta message
+	 * 
+	 * @param delta the delta, as written by {@link MobResistances}
+	 */
+	public MobResistancesMessage(byte[] delta) {
+		super();
+		this.delta = delta;
 	}
 
 	public MobResistancesMessage() {
@@ -21,8 +52,13 @@ public class MobResistancesMessage extends AbstractCapabilityMessage<NBTTagCompo
 
 	@Override
 	public void fromBytes(ByteBuf buf) {
+		PacketBuffer pBuf = new PacketBuffer(buf);
+		if(pBuf.readBoolean()) {
+			this.delta = pBuf.readByteArray();
+			return;
+		}
 		try {
-			deserializeNBT(new PacketBuffer(buf).readCompoundTag());
+			deserializeNBT(pBuf.readCompoundTag());
 		}
 		catch(IOException e) {
 			throw new RuntimeException("Was unable to read NBTTagCompound", e);
@@ -31,12 +67,28 @@ public class MobResistancesMessage extends AbstractCapabilityMessage<NBTTagCompo
 
 	@Override
 	public void toBytes(ByteBuf buf) {
-		new PacketBuffer(buf).writeCompoundTag(serializeNBT());
+		PacketBuffer pBuf = new PacketBuffer(buf);
+		pBuf.writeBoolean(this.delta != null);
+		if(this.delta != null) {
+			pBuf.writeByteArray(this.delta);
+		}
+		else {
+			pBuf.writeCompoundTag(serializeNBT());
+		}
 	}
 
 	@Override
 	public IMessageHandler<AbstractCapabilityMessage<NBTTagCompound>, IMessage> getMessageHandler() {
-		return new CapabilityMessageHandler<NBTTagCompound>((msg, plyer) -> DDDAPI.accessor.getMobResistances(plyer).get().deserializeNBT(msg.serializeNBT()));
+		return new CapabilityMessageHandler<NBTTagCompound>((msg, plyer) -> {
+			IMobResistances resists = DDDAPI.accessor.getMobResistances(plyer).get();
+			byte[] delta = ((MobResistancesMessage) msg).delta;
+			if(delta == null) {
+				resists.deserializeNBT(msg.serializeNBT());
+			}
+			else if(resists instanceof MobResistances) {
+				((MobResistances) resists).applyDelta(delta);
+			}
+		});
 	}
 
 }
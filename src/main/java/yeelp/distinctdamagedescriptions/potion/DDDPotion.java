@@ -1,18 +1,16 @@
 package yeelp.distinctdamagedescriptions.potion;
 
 import net.minecraft.client.gui.Gui;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.potion.Potion;
 import net.minecraft.potion.PotionEffect;
-import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import yeelp.distinctdamagedescriptions.ModConsts;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.event.DDDHooks;
 import yeelp.distinctdamagedescriptions.event.classification.GatherDefensesEvent;
 
-@Mod.EventBusSubscriber(modid = ModConsts.MODID)
 public final class DDDPotion extends Potion {
 
 	private final DDDDamageType type;
@@ -72,7 +70,23 @@ public final class DDDPotion extends Potion {
 		return this.effect;
 	}
 
-	@SubscribeEvent(priority = EventPriority.HIGH)
+	/**
+	 * Register DDD's potions as a {@link GatherDefensesEvent} listener. The
+	 * listener is only active for entities with one of these potions active.
+	 */
+	public static void registerBridge() {
+		DDDHooks.addBridge(GatherDefensesEvent.class, EventPriority.HIGH, DDDPotion::hasDDDPotion, DDDPotion::onGatherDefenses);
+	}
+
+	private static boolean hasDDDPotion(EntityLivingBase entity) {
+		for(Potion potion : entity.getActivePotionMap().keySet()) {
+			if(potion instanceof DDDPotion) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static void onGatherDefenses(GatherDefensesEvent evt) {
 		evt.getDefender().getActivePotionEffects().stream().filter((effect) -> effect.getPotion() instanceof DDDPotion).forEach((effect) -> {
 			DDDPotion pot = (DDDPotion) effect.getPotion();
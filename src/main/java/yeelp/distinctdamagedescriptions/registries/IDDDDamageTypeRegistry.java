@@ -10,6 +10,33 @@ import net.minecraft.util.text.TextComponentString;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 
 public interface IDDDDamageTypeRegistry extends IDDDRegistry<DDDDamageType> {
+	/**
+	 * Get the ordinal of a damage type. Ordinals are dense, assigned in
+	 * registration order and stable for the lifetime of the registry, which makes
+	 * them suitable as array indices.
+	 * 
+	 * @param type the damage type
+	 * @return the ordinal for that type, or -1 if it isn't registered.
+	 */
+	int getOrdinal(DDDDamageType type);
+
+	/**
+	 * Get a damage type by its ordinal
+	 * 
+	 * @param ordinal the ordinal
+	 * @return the damage type with that ordinal
+	 * @throws IndexOutOfBoundsException if no type has that ordinal
+	 */
+	DDDDamageType getByOrdinal(int ordinal);
+
+	/**
+	 * Get the number of registered damage types. All ordinals are strictly less
+	 * than this value.
+	 * 
+	 * @return the number of registered damage types.
+	 */
+	int size();
+
 	/**
 	 * Get the display name for a custom damage type
 	 * 
@@ -1,19 +1,69 @@
 package yeelp.distinctdamagedescriptions.registries.impl;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableMap;
+
 import yeelp.distinctdamagedescriptions.DistinctDamageDescriptions;
 import yeelp.distinctdamagedescriptions.registries.IDDDRegistry;
 
+/**
+ * Base registry. Registered objects are held in an immutable snapshot that is
+ * replaced wholesale whenever something is registered, so reads never lock and
+ * never see a half registered object. Registration is expected to happen
+ * almost entirely during init; a late registration just publishes a new
+ * snapshot.
+ *
+ * @author Yeelp
+ *
+ * @param <T> the type of object registered
+ */
 public abstract class DDDBaseRegistry<T> implements IDDDRegistry<T> {
-	protected final Map<String, T> map = new HashMap<String, T>();
+	private volatile Snapshot<T> snapshot = new Snapshot<T>();
 	private Function<T, String> keyFunc;
 	private final String name;
 
+	/**
+	 * An immutable view of everything registered at some point in time.
+	 *
+	 * @author Yeelp
+	 *
+	 */
+	private static final class Snapshot<T> {
+		private final Object[] byOrdinal;
+		private final ImmutableMap<String, T> byKey;
+		private final Map<T, Integer> ordinals;
+
+		Snapshot() {
+			this.byOrdinal = new Object[0];
+			this.byKey = ImmutableMap.of();
+			this.ordinals = new IdentityHashMap<T, Integer>();
+		}
+
+		private Snapshot(Snapshot<T> previous, String key, T obj) {
+			int ordinal = previous.byOrdinal.length;
+			this.byOrdinal = Arrays.copyOf(previous.byOrdinal, ordinal + 1);
+			this.byOrdinal[ordinal] = obj;
+			this.byKey = ImmutableMap.<String, T>builder().putAll(previous.byKey).put(key, obj).build();
+			this.ordinals = new IdentityHashMap<T, Integer>(previous.ordinals);
+			this.ordinals.put(obj, ordinal);
+		}
+
+		Snapshot<T> with(String key, T obj) {
+			return new Snapshot<T>(this, key, obj);
+		}
+
+		@SuppressWarnings("unchecked")
+		T get(int ordinal) {
+			return (T) this.byOrdinal[ordinal];
+		}
+	}
+
 	DDDBaseRegistry(Function<T, String> f, String name) {
 		this.keyFunc = f;
 		this.name = name;
@@ -21,12 +71,12 @@ public abstract class DDDBaseRegistry<T> implements IDDDRegistry<T> {
 	}
 
 	@Override
-	public void register(boolean suppressOutput, T obj) {
+	public synchronized void register(boolean suppressOutput, T obj) {
 		if(this.isRegistered(obj)) {
 			throw new RuntimeException(obj.toString() + "was already registered!");
 		}
 		String key = this.keyFunc.apply(obj);
-		this.map.put(key, obj);
+		this.snapshot = this.snapshot.with(key, obj);
 		if(!suppressOutput) {
 			DistinctDamageDescriptions.info(String.format("Registering %s: %s", this.name, key));
 		}
@@ -41,21 +91,59 @@ public abstract class DDDBaseRegistry<T> implements IDDDRegistry<T> {
 
 	@Override
 	public T get(String key) {
-		return this.map.get(key);
+		return this.snapshot.byKey.get(key);
 	}
 
+	/**
+	 * {@inheritDoc} The returned collection is an immutable view of this registry
+	 * at the time of the call, in registration order.
+	 */
 	@Override
 	public Collection<T> getAll() {
-		return this.map.values();
+		return this.snapshot.byKey.values();
 	}
 
 	@Override
 	public boolean isRegistered(T obj) {
-		return this.map.containsKey(this.keyFunc.apply(obj));
+		return this.snapshot.byKey.containsKey(this.keyFunc.apply(obj));
+	}
+
+	/**
+	 * Get the ordinal of a registered object. Ordinals are handed out in
+	 * registration order, starting at zero, and never change for the lifetime of
+	 * this registry. Objects are looked up by identity.
+	 *
+	 * @param obj
+	 * @return the ordinal of {@code obj}, or -1 if it isn't registered.
+	 */
+	public int getOrdinal(T obj) {
+		Integer ordinal = this.snapshot.ordinals.get(obj);
+		return ordinal == null ? -1 : ordinal;
+	}
+
+	/**
+	 * Get a registered object by its ordinal
+	 *
+	 * @param ordinal
+	 * @return the object registered with that ordinal
+	 * @throws IndexOutOfBoundsException if no object has that ordinal
+	 */
+	public T getByOrdinal(int ordinal) {
+		return this.snapshot.get(ordinal);
+	}
+
+	/**
+	 * Get the number of registered objects. Every ordinal is strictly less than
+	 * this.
+	 *
+	 * @return the number of registered objects
+	 */
+	public int size() {
+		return this.snapshot.byOrdinal.length;
 	}
 
 	@Override
 	public Iterator<T> iterator() {
-		return this.map.values().iterator();
+		return this.getAll().iterator();
 	}
 }
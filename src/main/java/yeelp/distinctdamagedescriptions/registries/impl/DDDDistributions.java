@@ -1,13 +1,19 @@
 package yeelp.distinctdamagedescriptions.registries.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import com.google.common.collect.Sets;
+
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.DamageSource;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
@@ -25,6 +31,72 @@ import yeelp.distinctdamagedescriptions.registries.impl.dists.ParrotPoisonDist;
 import yeelp.distinctdamagedescriptions.registries.impl.dists.SimpleBuiltInDist;
 
 public final class DDDDistributions extends DDDBaseRegistry<DDDPredefinedDistribution> implements IDDDDistributionRegistry {
+	private static final DDDPredefinedDistribution[] NO_DISTS = new DDDPredefinedDistribution[0];
+
+	/**
+	 * The compiled dispatch index, or null if a distribution was registered since
+	 * it was last compiled.
+	 */
+	private volatile DispatchIndex index;
+
+	/**
+	 * A compiled view of the registered distributions. Every array is in priority
+	 * order, highest first, so the first distribution to produce a result wins,
+	 * exactly as if every registered distribution was checked in order.
+	 * 
+	 * @author Yeelp
+	 *
+	 */
+	private static final class DispatchIndex {
+		private final DDDPredefinedDistribution[] wildcards;
+		private final Map<DamageSource, DDDPredefinedDistribution[]> bySource;
+		private final Map<String, DDDPredefinedDistribution[]> byDamageType;
+
+		DispatchIndex(List<DDDPredefinedDistribution> sorted) {
+			List<DDDPredefinedDistribution> wildcardList = new ArrayList<DDDPredefinedDistribution>();
+			Set<DamageSource> sourceKeys = Sets.newIdentityHashSet();
+			Set<String> typeKeys = Sets.newHashSet();
+			for(DDDPredefinedDistribution dist : sorted) {
+				if(isWildcard(dist)) {
+					wildcardList.add(dist);
+				}
+				sourceKeys.addAll(dist.getApplicableSources());
+				typeKeys.addAll(dist.getApplicableDamageTypes());
+			}
+			this.wildcards = wildcardList.toArray(NO_DISTS);
+			this.bySource = new IdentityHashMap<DamageSource, DDDPredefinedDistribution[]>(sourceKeys.size());
+			for(DamageSource src : sourceKeys) {
+				this.bySource.put(src, collect(sorted, src, src.damageType));
+			}
+			this.byDamageType = new HashMap<String, DDDPredefinedDistribution[]>(typeKeys.size());
+			for(String type : typeKeys) {
+				this.byDamageType.put(type, collect(sorted, null, type));
+			}
+		}
+
+		DDDPredefinedDistribution[] candidates(DamageSource src) {
+			DDDPredefinedDistribution[] dists = this.bySource.get(src);
+			if(dists == null) {
+				dists = this.byDamageType.get(src.damageType);
+			}
+			return dists == null ? this.wildcards : dists;
+		}
+
+		private static DDDPredefinedDistribution[] collect(List<DDDPredefinedDistribution> sorted, DamageSource src, String type) {
+			List<DDDPredefinedDistribution> result = new ArrayList<DDDPredefinedDistribution>();
+			for(DDDPredefinedDistribution dist : sorted) {
+				if(isWildcard(dist) || dist.getApplicableDamageTypes().contains(type) || (src != null && dist.getApplicableSources().contains(src))) {
+					result.add(dist);
+				}
+			}
+			return result.toArray(NO_DISTS);
+		}
+
+		private static boolean isWildcard(DDDPredefinedDistribution dist) {
+			return dist.getApplicableSources().isEmpty() && dist.getApplicableDamageTypes().isEmpty();
+		}
+	}
+
 	public DDDDistributions() {
 		super((dist) -> dist.getName(), "Distribution");
 	}
@@ -34,21 +106,41 @@ public final class DDDDistributions extends DDDBaseRegistry<DDDPredefinedDistrib
 		this.registerAll(SimpleBuiltInDist.ANVIL, SimpleBuiltInDist.CACTUS, SimpleBuiltInDist.FALL, SimpleBuiltInDist.FALLING_BLOCK, SimpleBuiltInDist.FLY_INTO_WALL, SimpleBuiltInDist.LIGHTNING, SimpleBuiltInDist.WITHER, DDDBuiltInForce.EVOKER_FANGS_DIST, DDDBuiltInForce.GUARDIAN_DIST, new DDDBuiltInForce.ThornsDist(), new DDDDaylightDist(), new DDDBuiltInFire(), new DDDBuiltInPiercing(), new DDDBuiltInPoison(), new DDDInstantEffectsDist(), new ParrotPoisonDist(), new DDDExplosionDist());
 	}
 
+	@Override
+	public void register(boolean suppressOutput, DDDPredefinedDistribution obj) {
+		super.register(suppressOutput, obj);
+		this.index = null;
+	}
+
 	@Override
 	public Set<DDDDamageType> getDamageTypes(DamageSource src, EntityLivingBase target) {
 		Set<DDDDamageType> types = Collections.emptySet();
-		return checkDists(types, (set) -> set.isEmpty(), (dist) -> dist.getTypes(src, target));
+		return this.checkDists(src, types, (set) -> set.isEmpty(), (dist) -> dist.getTypes(src, target));
 	}
 
 	@Override
 	public Optional<IDamageDistribution> getDamageDistribution(DamageSource src, EntityLivingBase target) {
-		return checkDists(Optional.empty(), (dist) -> !dist.isPresent(), (dist) -> dist.getDamageDistribution(src, target));
+		return this.checkDists(src, Optional.empty(), (dist) -> !dist.isPresent(), (dist) -> dist.getDamageDistribution(src, target));
 	}
 
-	private <T> T checkDists(T start, Predicate<T> p, Function<DDDPredefinedDistribution, T> next) {
-		T result;
-		Iterator<DDDPredefinedDistribution> it = this.map.values().stream().sorted(Comparator.reverseOrder()).iterator();
-		for(result = start; p.test(result) && it.hasNext(); result = next.apply(it.next()));
+	private <T> T checkDists(DamageSource src, T start, Predicate<T> p, Function<DDDPredefinedDistribution, T> next) {
+		T result = start;
+		for(DDDPredefinedDistribution dist : this.getIndex().candidates(src)) {
+			if(!p.test(result)) {
+				break;
+			}
+			result = next.apply(dist);
+		}
 		return result;
 	}
+
+	private DispatchIndex getIndex() {
+		DispatchIndex idx = this.index;
+		if(idx == null) {
+			List<DDDPredefinedDistribution> sorted = new ArrayList<DDDPredefinedDistribution>(this.getAll());
+			sorted.sort(Comparator.reverseOrder());
+			this.index = idx = new DispatchIndex(sorted);
+		}
+		return idx;
+	}
 }
@@ -36,6 +36,7 @@ public class DDDPotionsRegistry extends DDDBaseRegistry<DDDPotion> implements ID
 				Stream.of(DDDPotion.EffectType.values()).map((e) -> new DDDPotion(e, t)).forEach(this::register);
 			}
 		});
+		DDDPotion.registerBridge();
 		this.iterator().forEachRemaining((p) -> {
 			PotionType normal = new PotionType(new PotionEffect[] {
 					new PotionEffect(p, DURATION, 0)});
@@ -1,7 +1,10 @@
 package yeelp.distinctdamagedescriptions.registries.impl.dists;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.monster.EntityGuardian;
@@ -41,6 +44,11 @@ public abstract class DDDBuiltInForce extends AbstractSingleTypeDist {
 			return source.damageType.equals("thorns") && !(source.getTrueSource() instanceof EntityGuardian);
 		}
 
+		@Override
+		public Set<String> getApplicableDamageTypes() {
+			return ImmutableSet.of("thorns");
+		}
+
 		@Override
 		public String getName() {
 			return "thorns";
@@ -1,5 +1,9 @@
 package yeelp.distinctdamagedescriptions.registries.impl.dists;
 
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.monster.EntityGuardian;
 import net.minecraft.util.DamageSource;
@@ -22,6 +26,11 @@ public final class DDDBuiltInPiercing extends AbstractSingleTypeDist {
 		return source.isMagicDamage() & source.damageType.equals("thorns") && source.getTrueSource() instanceof EntityGuardian;
 	}
 
+	@Override
+	public Set<String> getApplicableDamageTypes() {
+		return ImmutableSet.of("thorns");
+	}
+
 	@Override
 	public String getName() {
 		return "builtInPiercing";
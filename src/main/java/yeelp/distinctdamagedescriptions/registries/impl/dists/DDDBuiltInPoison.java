@@ -1,5 +1,9 @@
 package yeelp.distinctdamagedescriptions.registries.impl.dists;
 
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.MobEffects;
 import net.minecraft.potion.PotionEffect;
@@ -29,6 +33,11 @@ public final class DDDBuiltInPoison extends AbstractSingleTypeDist {
 		return false;
 	}
 
+	@Override
+	public Set<DamageSource> getApplicableSources() {
+		return ImmutableSet.of(DamageSource.MAGIC);
+	}
+
 	@Override
 	public String getName() {
 		return "builtInPoison";
@@ -6,6 +6,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.DamageSource;
@@ -86,6 +87,11 @@ public final class DDDCustomDistributions implements DDDPredefinedDistribution {
 		return set;
 	}
 
+	@Override
+	public Set<String> getApplicableDamageTypes() {
+		return Sets.union(this.includeAllMap.keySet(), this.srcMap.keySet());
+	}
+
 	@Override
 	public String getName() {
 		return "json";
@@ -1,5 +1,9 @@
 package yeelp.distinctdamagedescriptions.registries.impl.dists;
 
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.EnumCreatureAttribute;
 import net.minecraft.util.DamageSource;
@@ -26,6 +30,11 @@ public final class DDDDaylightDist extends AbstractSingleTypeDist {
 		return false;
 	}
 
+	@Override
+	public Set<DamageSource> getApplicableSources() {
+		return ImmutableSet.of(DamageSource.ON_FIRE);
+	}
+
 	@Override
 	public String getName() {
 		return "daylight";
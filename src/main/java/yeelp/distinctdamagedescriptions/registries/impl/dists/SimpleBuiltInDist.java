@@ -1,7 +1,10 @@
 package yeelp.distinctdamagedescriptions.registries.impl.dists;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.DamageSource;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
@@ -36,6 +39,11 @@ public final class SimpleBuiltInDist extends AbstractSingleTypeDist {
 		return this.src == source;
 	}
 
+	@Override
+	public Set<DamageSource> getApplicableSources() {
+		return ImmutableSet.of(this.src);
+	}
+
 	@Override
 	public String getName() {
 		return this.src.damageType;
@@ -1,10 +1,137 @@
 package yeelp.distinctdamagedescriptions.util;
 
-public final class ArmorMap extends DDDBaseMap<ArmorValues> {
+import java.util.Arrays;
 
-	private static final long serialVersionUID = -7103973048532333006L;
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.ArmorTable;
+
+/**
+ * A {@link DDDDenseMap} of armor and toughness values. Armor and toughness are
+ * kept in separate {@code float[]}s; {@link ArmorValues} are only created when
+ * the map is used through its {@link java.util.Map} view.
+ *
+ * @author Yeelp
+ *
+ */
+public final class ArmorMap extends DDDDenseMap<ArmorValues> implements ArmorTable {
+	private float[] armor, toughness;
 
 	public ArmorMap() {
-		super(() -> new ArmorValues());
+		super();
+		this.armor = new float[this.capacity()];
+		this.toughness = new float[this.capacity()];
+	}
+
+	@Override
+	protected void grow(int newCapacity) {
+		this.armor = Arrays.copyOf(this.armor, newCapacity);
+		this.toughness = Arrays.copyOf(this.toughness, newCapacity);
+	}
+
+	@Override
+	protected ArmorValues valueAt(int ordinal) {
+		return new ArmorValues(this.armor[ordinal], this.toughness[ordinal]);
+	}
+
+	@Override
+	protected void store(int ordinal, ArmorValues value) {
+		this.armor[ordinal] = value.getArmor();
+		this.toughness[ordinal] = value.getToughness();
+	}
+
+	@Override
+	protected ArmorValues defaultValue() {
+		return new ArmorValues();
+	}
+
+	/**
+	 * Get the armor mapped to an ordinal
+	 *
+	 * @param ordinal
+	 * @return the armor, or 0 if absent.
+	 */
+	@Override
+	public float getArmor(int ordinal) {
+		return this.contains(ordinal) ? this.armor[ordinal] : 0.0f;
+	}
+
+	/**
+	 * Get the toughness mapped to an ordinal
+	 *
+	 * @param ordinal
+	 * @return the toughness, or 0 if absent.
+	 */
+	@Override
+	public float getToughness(int ordinal) {
+		return this.contains(ordinal) ? this.toughness[ordinal] : 0.0f;
+	}
+
+	/**
+	 * Map a type to armor and toughness values
+	 *
+	 * @param type
+	 * @param armor
+	 * @param toughness
+	 * @throws IllegalArgumentException if the type isn't registered
+	 */
+	public void set(DDDDamageType type, float armor, float toughness) {
+		int ordinal = checkedOrdinal(type);
+		this.mark(ordinal);
+		this.armor[ordinal] = armor;
+		this.toughness[ordinal] = toughness;
+	}
+
+	/**
+	 * Add armor and toughness values to the values mapped to a type
+	 *
+	 * @param type
+	 * @param armor
+	 * @param toughness
+	 * @throws IllegalArgumentException if the type isn't registered
+	 */
+	public void add(DDDDamageType type, float armor, float toughness) {
+		int ordinal = checkedOrdinal(type);
+		float a = this.getArmor(ordinal), t = this.getToughness(ordinal);
+		this.mark(ordinal);
+		this.armor[ordinal] = a + armor;
+		this.toughness[ordinal] = t + toughness;
+	}
+
+	/**
+	 * Add all armor and toughness values in another map to this one.
+	 *
+	 * @param other
+	 */
+	public void addAll(ArmorMap other) {
+		for(int i = other.nextOrdinal(0); i >= 0; i = other.nextOrdinal(i + 1)) {
+			float a = this.getArmor(i), t = this.getToughness(i);
+			this.mark(i);
+			this.armor[i] = a + other.armor[i];
+			this.toughness[i] = t + other.toughness[i];
+		}
+	}
+
+	/**
+	 * Copy this map
+	 *
+	 * @return a new ArmorMap with the same contents
+	 */
+	public ArmorMap copy() {
+		ArmorMap copy = new ArmorMap();
+		copy.addAll(this);
+		return copy;
+	}
+
+	/**
+	 * Copy this map. This map used to be a {@link java.util.HashMap}, and this is
+	 * kept so callers of its {@code clone()} still work.
+	 *
+	 * @return a new ArmorMap with the same contents
+	 * @deprecated use {@link #copy()} instead.
+	 */
+	@Deprecated
+	@Override
+	public ArmorMap clone() {
+		return this.copy();
 	}
 }
@@ -2,15 +2,20 @@ package yeelp.distinctdamagedescriptions.util;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import net.minecraft.entity.EntityFlying;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.EnumCreatureAttribute;
@@ -53,21 +58,26 @@ import yeelp.distinctdamagedescriptions.util.lib.YLib;
 
 /**
  * Generates config values on the fly for newly encountered mobs.
+ * <p>
+ * Capabilities are attached from both the server and client threads, so the
+ * caches are concurrent. Each value is generated exactly once per
+ * ResourceLocation: threads racing on the same key wait for the first to finish
+ * generating it, while generation for other keys carries on unblocked.
  * 
  * @author Yeelp
  *
  */
 public final class ConfigGenerator {
 	private static final Random rng = new Random();
-	private static final Map<ResourceLocation, IDamageDistribution> MOB_DAMAGE_CACHE = new HashMap<ResourceLocation, IDamageDistribution>();
-	private static final Map<ResourceLocation, IMobResistances> MOB_RESISTS_CACHE = new HashMap<ResourceLocation, IMobResistances>();
-	private static final Map<ResourceLocation, Float> ADAPTABILITY_CHANCE_CACHE = new HashMap<ResourceLocation, Float>();
-	private static final Map<ResourceLocation, IDamageDistribution> WEAPON_CACHE = new HashMap<ResourceLocation, IDamageDistribution>();
-	private static final Map<ResourceLocation, IDamageDistribution> PROJECTILE_CACHE = new HashMap<ResourceLocation, IDamageDistribution>();
-	private static final Map<ResourceLocation, IArmorDistribution> ARMOR_CACHE = new HashMap<ResourceLocation, IArmorDistribution>();
-	private static final Map<ResourceLocation, ShieldDistribution> SHIELD_CACHE = new HashMap<ResourceLocation, ShieldDistribution>();
+	private static final Cache<ResourceLocation, IDamageDistribution> MOB_DAMAGE_CACHE = CacheBuilder.newBuilder().build();
+	private static final Cache<ResourceLocation, IMobResistances> MOB_RESISTS_CACHE = CacheBuilder.newBuilder().build();
+	private static final Map<ResourceLocation, Float> ADAPTABILITY_CHANCE_CACHE = new ConcurrentHashMap<ResourceLocation, Float>();
+	private static final Cache<ResourceLocation, IDamageDistribution> WEAPON_CACHE = CacheBuilder.newBuilder().build();
+	private static final Cache<ResourceLocation, IDamageDistribution> PROJECTILE_CACHE = CacheBuilder.newBuilder().build();
+	private static final Cache<ResourceLocation, IArmorDistribution> ARMOR_CACHE = CacheBuilder.newBuilder().build();
+	private static final Cache<ResourceLocation, ShieldDistribution> SHIELD_CACHE = CacheBuilder.newBuilder().build();
 	private static final Field efficiencyField = ObfuscationReflectionHelper.findField(ItemTool.class, "field_77864_a");
-	private static boolean updated = false;
+	private static volatile boolean updated = false;
 
 	/**
 	 * Generate Mob Capabilities on the fly and save them to be injected in the
@@ -82,9 +92,10 @@ public final class ConfigGenerator {
 	 *         config values.
 	 */
 	public static final IDamageDistribution getOrGenerateMobDamage(EntityLivingBase entity, ResourceLocation loc) {
-		if(MOB_DAMAGE_CACHE.containsKey(loc)) {
-			return MOB_DAMAGE_CACHE.get(loc);
-		}
+		return getOrGenerate(MOB_DAMAGE_CACHE, loc, () -> generateMobDamage(entity));
+	}
+
+	private static IDamageDistribution generateMobDamage(EntityLivingBase entity) {
 		IDamageDistribution damageDist;
 		EnumCreatureAttribute creatureAttribute = entity.getCreatureAttribute();
 
@@ -101,16 +112,14 @@ public final class ConfigGenerator {
 				break;
 		}
 
-		MOB_DAMAGE_CACHE.put(loc, damageDist);
-		updated = true;
-
 		return damageDist;
 	}
 
 	public static final IMobResistances getOrGenerateMobResistances(EntityLivingBase entity, ResourceLocation loc) {
-		if(MOB_RESISTS_CACHE.containsKey(loc)) {
-			return MOB_RESISTS_CACHE.get(loc);
-		}
+		return getOrGenerate(MOB_RESISTS_CACHE, loc, () -> generateMobResistances(entity, loc));
+	}
+
+	private static IMobResistances generateMobResistances(EntityLivingBase entity, ResourceLocation loc) {
 		final boolean isMonster = entity.isCreatureType(EnumCreatureType.MONSTER, false);
 		final boolean isWaterMob = entity.isCreatureType(EnumCreatureType.WATER_CREATURE, false);
 		final boolean isPeaceful = !(isMonster || isWaterMob);
@@ -315,8 +324,6 @@ public final class ConfigGenerator {
 		}
 		mobResists = new MobResistances(resists, immunities, Math.random() < adaptChance, adaptAmount);
 		DistinctDamageDescriptions.debug(String.format("Values for %s: %f, %f, %f", loc, slash, pierce, bludge));
-		MOB_RESISTS_CACHE.put(loc, mobResists);
-		updated = true;
 		return mobResists;
 	}
 
@@ -328,9 +335,10 @@ public final class ConfigGenerator {
 	 * @return An IDamageDistribution, freshly generated or from the cache.
 	 */
 	public static final IDamageDistribution getOrGenerateWeaponCapabilities(ItemTool tool, ItemStack stack) {
-		if(WEAPON_CACHE.containsKey(tool.getRegistryName())) {
-			return WEAPON_CACHE.get(tool.getRegistryName());
-		}
+		return getOrGenerate(WEAPON_CACHE, tool.getRegistryName(), () -> generateWeaponCapabilities(tool, stack));
+	}
+
+	private static IDamageDistribution generateWeaponCapabilities(ItemTool tool, ItemStack stack) {
 		/*
 		 * We take a look at a tool's durability, enchantability, harvest level and
 		 * efficiency to determine how 'good' of a tool it is. This determines how
@@ -390,8 +398,6 @@ public final class ConfigGenerator {
 			pierce = 1 - bludge;
 		}
 		IDamageDistribution dist = new DamageDistribution(new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.SLASHING, slash), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.PIERCING, pierce), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.BLUDGEONING, bludge));
-		WEAPON_CACHE.put(tool.getRegistryName(), dist);
-		updated = true;
 		return dist;
 	}
 
@@ -403,15 +409,14 @@ public final class ConfigGenerator {
 	 * @return an IDamageDistribution from the cache or a fresh one.
 	 */
 	public static final IDamageDistribution getOrGenerateWeaponCapabilities(ItemHoe hoe, ItemStack stack) {
-		if(WEAPON_CACHE.containsKey(hoe.getRegistryName())) {
-			return WEAPON_CACHE.get(hoe.getRegistryName());
-		}
+		return getOrGenerate(WEAPON_CACHE, hoe.getRegistryName(), () -> generateWeaponCapabilities(hoe, stack));
+	}
+
+	private static IDamageDistribution generateWeaponCapabilities(ItemHoe hoe, ItemStack stack) {
 		double rating = Math.tanh(Math.pow(2, getDurabilityZScore(hoe.getMaxDamage(stack))));
 		float pierce = roundToTwoDecimals(rating);
 		float bludge = 1 - pierce;
 		IDamageDistribution dist = new DamageDistribution(new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.PIERCING, pierce), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.BLUDGEONING, bludge));
-		WEAPON_CACHE.put(hoe.getRegistryName(), dist);
-		updated = true;
 		return dist;
 	}
 
@@ -423,9 +428,10 @@ public final class ConfigGenerator {
 	 * @return an IDamageDistribution from the cache, or a fresh one.
 	 */
 	public static final IDamageDistribution getOrGenerateWeaponCapabilities(ItemSword sword, ItemStack stack) {
-		if(WEAPON_CACHE.containsKey(sword.getRegistryName())) {
-			return WEAPON_CACHE.get(sword.getRegistryName());
-		}
+		return getOrGenerate(WEAPON_CACHE, sword.getRegistryName(), () -> generateWeaponCapabilities(sword, stack));
+	}
+
+	private static IDamageDistribution generateWeaponCapabilities(ItemSword sword, ItemStack stack) {
 		int durability = sword.getMaxDamage(stack), enchantability = sword.getItemEnchantability();
 		double rating = Math.pow(2, 2 * getDurabilityZScore(durability)) + Math.pow(2, getEnchantabilityZScore(enchantability));
 		rating = Math.tanh(Math.sqrt(rating));
@@ -437,8 +443,6 @@ public final class ConfigGenerator {
 			pierce = 1 - slash;
 		}
 		IDamageDistribution dist = new DamageDistribution(new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.SLASHING, slash), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.PIERCING, pierce), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.BLUDGEONING, bludge));
-		WEAPON_CACHE.put(sword.getRegistryName(), dist);
-		updated = true;
 		return dist;
 	}
 
@@ -450,19 +454,7 @@ public final class ConfigGenerator {
 	 * @return an IDamageDistribution.
 	 */
 	public static final IDamageDistribution getOrGenerateProjectileDistribution(IProjectile projectile, ResourceLocation loc) {
-		if(PROJECTILE_CACHE.containsKey(loc)) {
-			return PROJECTILE_CACHE.get(loc);
-		}
-		IDamageDistribution dist = null;
-		if(projectile instanceof EntityArrow) {
-			dist = DDDBuiltInDamageType.PIERCING.getBaseDistribution();
-		}
-		else {
-			dist = DDDBuiltInDamageType.BLUDGEONING.getBaseDistribution();
-		}
-		PROJECTILE_CACHE.put(loc, dist);
-		updated = true;
-		return dist;
+		return getOrGenerate(PROJECTILE_CACHE, loc, () -> projectile instanceof EntityArrow ? DDDBuiltInDamageType.PIERCING.getBaseDistribution() : DDDBuiltInDamageType.BLUDGEONING.getBaseDistribution());
 	}
 
 	/**
@@ -473,9 +465,10 @@ public final class ConfigGenerator {
 	 * @return an IArmorDistribution.
 	 */
 	public static final IArmorDistribution getOrGenerateArmorResistances(ItemArmor armor, ItemStack stack) {
-		if(ARMOR_CACHE.containsKey(armor.getRegistryName())) {
-			return ARMOR_CACHE.get(armor.getRegistryName());
-		}
+		return getOrGenerate(ARMOR_CACHE, armor.getRegistryName(), () -> generateArmorResistances(armor, stack));
+	}
+
+	private static IArmorDistribution generateArmorResistances(ItemArmor armor, ItemStack stack) {
 		int durability = armor.getMaxDamage(stack);
 		int enchantability = armor.getItemEnchantability(stack);
 		float toughness = armor.toughness;
@@ -484,8 +477,6 @@ public final class ConfigGenerator {
 		float pierce = 0.1f + MathHelper.clamp(toughness / 20.0f, 0.0f, 0.9f);
 		float slash = 0.15f + MathHelper.clamp(0.01f * enchantability, 0.0f, 0.85f);
 		IArmorDistribution dist = new ArmorDistribution(new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.SLASHING, slash), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.PIERCING, pierce), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.BLUDGEONING, bludge));
-		ARMOR_CACHE.put(armor.getRegistryName(), dist);
-		updated = true;
 		return dist;
 	}
 
@@ -498,18 +489,34 @@ public final class ConfigGenerator {
 	 * @return A ShieldDistribution
 	 */
 	public static final ShieldDistribution getOrGenerateShieldDistribution(ItemShield shield, ItemStack stack) {
-		if(SHIELD_CACHE.containsKey(shield.getRegistryName())) {
-			return SHIELD_CACHE.get(shield.getRegistryName());
+		return getOrGenerate(SHIELD_CACHE, shield.getRegistryName(), () -> new ShieldDistribution(new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.SLASHING, generateResistance(1.0f)), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.PIERCING, generateResistance(1.0f)), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.BLUDGEONING, generateResistance(1.0f))));
+	}
+
+	/**
+	 * Get a value from a cache, generating it if absent. Only one thread generates
+	 * the value for a key; any others asking for it at the same time wait for it.
+	 * 
+	 * @param cache     the cache
+	 * @param loc       the key
+	 * @param generator generates the value. Must not return null.
+	 * @return the cached or freshly generated value
+	 */
+	private static <T> T getOrGenerate(Cache<ResourceLocation, T> cache, ResourceLocation loc, Callable<T> generator) {
+		try {
+			return cache.get(loc, () -> {
+				T t = generator.call();
+				updated = true;
+				return t;
+			});
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("Couldn't generate config values for " + loc, e.getCause());
 		}
-		ShieldDistribution dist = new ShieldDistribution(new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.SLASHING, generateResistance(1.0f)), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.PIERCING, generateResistance(1.0f)), new Tuple<DDDDamageType, Float>(DDDBuiltInDamageType.BLUDGEONING, generateResistance(1.0f)));
-		SHIELD_CACHE.put(shield.getRegistryName(), dist);
-		return dist;
 	}
 
 	public static final String[] getNewMobResistanceConfigValues() {
-		int index = -1;
-		String[] vals = new String[MOB_RESISTS_CACHE.size()];
-		for(Entry<ResourceLocation, IMobResistances> entry : MOB_RESISTS_CACHE.entrySet()) {
+		List<String> vals = new ArrayList<String>();
+		for(Entry<ResourceLocation, IMobResistances> entry : MOB_RESISTS_CACHE.asMap().entrySet()) {
 			IMobResistances resists = entry.getValue();
 			String val = entry.getKey().toString() + ";";
 			val += getVals(resists, (r, type) -> r.getResistance(type)) + ";";
@@ -517,9 +524,9 @@ public final class ConfigGenerator {
 			val += ADAPTABILITY_CHANCE_CACHE.get(entry.getKey()) + ";";
 			val += resists.getAdaptiveAmount();
 
-			vals[++index] = val;
+			vals.add(val);
 		}
-		return vals;
+		return vals.toArray(new String[vals.size()]);
 	}
 
 	public static final String[] getNewMobDamageConfigValues() {
@@ -542,13 +549,12 @@ public final class ConfigGenerator {
 		return getNewDistConfigVals(SHIELD_CACHE);
 	}
 
-	private static <T extends IDistribution> String[] getNewDistConfigVals(Map<ResourceLocation, T> cache) {
-		int index = -1;
-		String[] vals = new String[cache.size()];
-		for(Entry<ResourceLocation, T> entry : cache.entrySet()) {
-			vals[++index] = entry.getKey().toString() + ";" + getVals(entry.getValue(), (dist, type) -> dist.getWeight(type));
+	private static <T extends IDistribution> String[] getNewDistConfigVals(Cache<ResourceLocation, T> cache) {
+		List<String> vals = new ArrayList<String>();
+		for(Entry<ResourceLocation, T> entry : cache.asMap().entrySet()) {
+			vals.add(entry.getKey().toString() + ";" + getVals(entry.getValue(), (dist, type) -> dist.getWeight(type)));
 		}
-		return vals;
+		return vals.toArray(new String[vals.size()]);
 	}
 
 	public static boolean hasUpdated() {
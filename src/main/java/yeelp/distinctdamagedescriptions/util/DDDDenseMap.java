@@ -0,0 +1,468 @@
+package yeelp.distinctdamagedescriptions.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+
+/**
+ * A dense map keyed by damage types. Instead of hashing keys, a damage type's
+ * ordinal in {@link DDDRegistries#damageTypes} indexes directly into backing
+ * arrays owned by subclasses, and a bitmask tracks which types are present.
+ * <p>
+ * Like the NonNullMap, {@link #get(Object)} returns a default value for absent
+ * keys and null keys or values are disallowed. The {@link Map} view exists for
+ * API callers; performance sensitive code should iterate with
+ * {@link #nextOrdinal(int)} and use the primitive accessors subclasses provide.
+ *
+ * @author Yeelp
+ *
+ * @param <V> the type of values stored in the map
+ */
+public abstract class DDDDenseMap<V> extends AbstractMap<DDDDamageType, V> {
+	private static final int WORD_BITS = 6;
+	private long[] present;
+	private int capacity;
+	private int size;
+	private Set<Entry<DDDDamageType, V>> entrySet;
+
+	protected DDDDenseMap() {
+		this.capacity = registeredTypes();
+		this.present = new long[wordsFor(this.capacity)];
+	}
+
+	/**
+	 * Get the ordinal of a key, if it is a registered damage type
+	 *
+	 * @param key the key
+	 * @return the ordinal, or -1 if the key isn't a registered damage type.
+	 */
+	public static int ordinalOf(Object key) {
+		if(key instanceof DDDDamageType && DDDRegistries.damageTypes != null) {
+			return DDDRegistries.damageTypes.getOrdinal((DDDDamageType) key);
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the damage type with the specified ordinal.
+	 *
+	 * @param ordinal the ordinal
+	 * @return the damage type with that ordinal.
+	 */
+	public static DDDDamageType typeOf(int ordinal) {
+		return DDDRegistries.damageTypes.getByOrdinal(ordinal);
+	}
+
+	private static int registeredTypes() {
+		return DDDRegistries.damageTypes == null ? 0 : DDDRegistries.damageTypes.size();
+	}
+
+	private static int wordsFor(int bits) {
+		return (bits + 63) >>> WORD_BITS;
+	}
+
+	/**
+	 * Get the current length of the backing arrays.
+	 *
+	 * @return the capacity of this map
+	 */
+	protected final int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Grow the subclass's backing arrays. Called when a type with an ordinal at or
+	 * past the current capacity is added.
+	 *
+	 * @param newCapacity the new length, always larger than the current capacity.
+	 */
+	protected abstract void grow(int newCapacity);
+
+	/**
+	 * Get the value stored at an ordinal known to be present.
+	 *
+	 * @param ordinal
+	 * @return the stored value, boxed as needed
+	 */
+	protected abstract V valueAt(int ordinal);
+
+	/**
+	 * Store a non null value at an ordinal, which has already been marked present.
+	 *
+	 * @param ordinal
+	 * @param value
+	 */
+	protected abstract void store(int ordinal, V value);
+
+	/**
+	 * Get the value returned for absent keys.
+	 *
+	 * @return the default value.
+	 */
+	protected abstract V defaultValue();
+
+	/**
+	 * Is the type with this ordinal present in the map?
+	 *
+	 * @param ordinal
+	 * @return true if present
+	 */
+	public final boolean contains(int ordinal) {
+		return ordinal >= 0 && ordinal < this.capacity && (this.present[ordinal >>> WORD_BITS] & (1L << ordinal)) != 0;
+	}
+
+	/**
+	 * Get the next present ordinal at or after {@code from}. Iterate the map with
+	 * {@code for(int i = map.nextOrdinal(0); i >= 0; i = map.nextOrdinal(i + 1))}
+	 *
+	 * @param from the ordinal to start searching at
+	 * @return the next present ordinal, or -1 if there are none.
+	 */
+	public final int nextOrdinal(int from) {
+		if(from < 0 || from >= this.capacity) {
+			return -1;
+		}
+		int word = from >>> WORD_BITS;
+		long bits = this.present[word] & (-1L << from);
+		while(true) {
+			if(bits != 0) {
+				return (word << WORD_BITS) + Long.numberOfTrailingZeros(bits);
+			}
+			if(++word == this.present.length) {
+				return -1;
+			}
+			bits = this.present[word];
+		}
+	}
+
+	/**
+	 * @return the number of words in this map's presence bitmask
+	 */
+	final int keyWords() {
+		return this.present.length;
+	}
+
+	/**
+	 * Get a word of this map's presence bitmask
+	 *
+	 * @param word the index of the word
+	 * @return the word, or 0 if it's past the end of the bitmask
+	 */
+	final long keyWord(int word) {
+		return word < this.present.length ? this.present[word] : 0L;
+	}
+
+	/**
+	 * Mark an ordinal as present, growing the map if needed.
+	 *
+	 * @param ordinal
+	 * @return true if the ordinal wasn't present before.
+	 */
+	protected final boolean mark(int ordinal) {
+		if(ordinal >= this.capacity) {
+			int newCapacity = Math.max(ordinal + 1, registeredTypes());
+			this.present = Arrays.copyOf(this.present, wordsFor(newCapacity));
+			this.grow(newCapacity);
+			this.capacity = newCapacity;
+		}
+		long mask = 1L << ordinal;
+		int word = ordinal >>> WORD_BITS;
+		if((this.present[word] & mask) == 0) {
+			this.present[word] |= mask;
+			this.size++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove the type with this ordinal from the map.
+	 *
+	 * @param ordinal
+	 * @return true if the ordinal was present.
+	 */
+	public final boolean removeOrdinal(int ordinal) {
+		if(this.contains(ordinal)) {
+			this.present[ordinal >>> WORD_BITS] &= ~(1L << ordinal);
+			this.size--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Get the ordinal for a key, throwing if it can't be stored in this map.
+	 *
+	 * @param key
+	 * @return the ordinal
+	 * @throws UnsupportedOperationException if the key is null
+	 * @throws IllegalArgumentException      if the key isn't a registered damage
+	 *                                       type
+	 */
+	protected static int checkedOrdinal(DDDDamageType key) {
+		if(key == null) {
+			throw new UnsupportedOperationException("Null keys disallowed for DDDDenseMap");
+		}
+		int ordinal = ordinalOf(key);
+		if(ordinal < 0) {
+			throw new IllegalArgumentException(key.toString() + " isn't a registered damage type!");
+		}
+		return ordinal;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.contains(ordinalOf(key));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * If the key has no mapping, the default value is returned instead.
+	 */
+	@Override
+	public V get(Object key) {
+		int ordinal = ordinalOf(key);
+		return this.contains(ordinal) ? this.valueAt(ordinal) : this.defaultValue();
+	}
+
+	@Override
+	public V getOrDefault(Object key, V defaultValue) {
+		int ordinal = ordinalOf(key);
+		return this.contains(ordinal) ? this.valueAt(ordinal) : defaultValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UnsupportedOperationException if the key or value is null
+	 * @throws IllegalArgumentException      if the key isn't a registered damage
+	 *                                       type
+	 */
+	@Override
+	public V put(DDDDamageType key, V value) {
+		if(value == null) {
+			throw new UnsupportedOperationException("Null values disallowed for DDDDenseMap");
+		}
+		int ordinal = checkedOrdinal(key);
+		V old = this.contains(ordinal) ? this.valueAt(ordinal) : null;
+		this.mark(ordinal);
+		this.store(ordinal, value);
+		return old;
+	}
+
+	@Override
+	public V remove(Object key) {
+		int ordinal = ordinalOf(key);
+		if(this.contains(ordinal)) {
+			V old = this.valueAt(ordinal);
+			this.removeOrdinal(ordinal);
+			return old;
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.present, 0L);
+		this.size = 0;
+	}
+
+	@Override
+	public V computeIfPresent(DDDDamageType key, BiFunction<? super DDDDamageType, ? super V, ? extends V> remappingFunction) {
+		int ordinal = ordinalOf(key);
+		if(!this.contains(ordinal)) {
+			return null;
+		}
+		V newValue = remappingFunction.apply(key, this.valueAt(ordinal));
+		if(newValue == null) {
+			this.removeOrdinal(ordinal);
+		}
+		else {
+			this.store(ordinal, newValue);
+		}
+		return newValue;
+	}
+
+	@Override
+	public V computeIfAbsent(DDDDamageType key, Function<? super DDDDamageType, ? extends V> mappingFunction) {
+		int ordinal = checkedOrdinal(key);
+		if(this.contains(ordinal)) {
+			return this.valueAt(ordinal);
+		}
+		V newValue = mappingFunction.apply(key);
+		if(newValue != null) {
+			this.mark(ordinal);
+			this.store(ordinal, newValue);
+		}
+		return newValue;
+	}
+
+	@Override
+	public V compute(DDDDamageType key, BiFunction<? super DDDDamageType, ? super V, ? extends V> remappingFunction) {
+		int ordinal = checkedOrdinal(key);
+		V newValue = remappingFunction.apply(key, this.contains(ordinal) ? this.valueAt(ordinal) : null);
+		if(newValue == null) {
+			this.removeOrdinal(ordinal);
+		}
+		else {
+			this.mark(ordinal);
+			this.store(ordinal, newValue);
+		}
+		return newValue;
+	}
+
+	@Override
+	public V merge(DDDDamageType key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		Objects.requireNonNull(value);
+		int ordinal = checkedOrdinal(key);
+		V newValue = this.contains(ordinal) ? remappingFunction.apply(this.valueAt(ordinal), value) : value;
+		if(newValue == null) {
+			this.removeOrdinal(ordinal);
+		}
+		else {
+			this.mark(ordinal);
+			this.store(ordinal, newValue);
+		}
+		return newValue;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super DDDDamageType, ? super V> action) {
+		for(int i = this.nextOrdinal(0); i >= 0; i = this.nextOrdinal(i + 1)) {
+			action.accept(typeOf(i), this.valueAt(i));
+		}
+	}
+
+	@Override
+	public Set<Entry<DDDDamageType, V>> entrySet() {
+		if(this.entrySet == null) {
+			this.entrySet = new EntrySet();
+		}
+		return this.entrySet;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<DDDDamageType, V>> {
+		EntrySet() {
+			super();
+		}
+
+		@Override
+		public Iterator<Entry<DDDDamageType, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return DDDDenseMap.this.size;
+		}
+
+		@Override
+		public void clear() {
+			DDDDenseMap.this.clear();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Entry<DDDDamageType, V>> {
+		private int next = DDDDenseMap.this.nextOrdinal(0);
+		private int last = -1;
+
+		EntryIterator() {
+			super();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.next >= 0;
+		}
+
+		@Override
+		public Entry<DDDDamageType, V> next() {
+			if(this.next < 0) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next;
+			this.next = DDDDenseMap.this.nextOrdinal(this.next + 1);
+			return new DenseEntry(this.last);
+		}
+
+		@Override
+		public void remove() {
+			if(this.last < 0) {
+				throw new IllegalStateException();
+			}
+			DDDDenseMap.this.removeOrdinal(this.last);
+			this.last = -1;
+		}
+	}
+
+	private final class DenseEntry implements Entry<DDDDamageType, V> {
+		private final int ordinal;
+
+		DenseEntry(int ordinal) {
+			this.ordinal = ordinal;
+		}
+
+		@Override
+		public DDDDamageType getKey() {
+			return typeOf(this.ordinal);
+		}
+
+		@Override
+		public V getValue() {
+			return DDDDenseMap.this.contains(this.ordinal) ? DDDDenseMap.this.valueAt(this.ordinal) : DDDDenseMap.this.defaultValue();
+		}
+
+		@Override
+		public V setValue(V value) {
+			if(value == null) {
+				throw new UnsupportedOperationException("Null values disallowed for DDDDenseMap");
+			}
+			V old = this.getValue();
+			DDDDenseMap.this.mark(this.ordinal);
+			DDDDenseMap.this.store(this.ordinal, value);
+			return old;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(obj instanceof Entry) {
+				Entry<?, ?> e = (Entry<?, ?>) obj;
+				return Objects.equals(this.getKey(), e.getKey()) && Objects.equals(this.getValue(), e.getValue());
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+		}
+
+		@Override
+		public String toString() {
+			return this.getKey() + "=" + this.getValue();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package yeelp.distinctdamagedescriptions.util;
+
+import java.util.Arrays;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+
+/**
+ * A {@link DDDDenseMap} of primitive floats. Values live in a {@code float[]}
+ * indexed by damage type ordinal, so reads and writes through the primitive
+ * accessors never box.
+ *
+ * @author Yeelp
+ *
+ */
+public abstract class DDDFloatMap extends DDDDenseMap<Float> {
+	private final float defaultVal;
+	private float[] values;
+
+	protected DDDFloatMap(float defaultVal) {
+		super();
+		this.defaultVal = defaultVal;
+		this.values = new float[this.capacity()];
+	}
+
+	/**
+	 * Replace the contents of this map with the contents of another.
+	 *
+	 * @param other the map to copy from
+	 * @return this map
+	 */
+	public final DDDFloatMap copyFrom(DDDFloatMap other) {
+		this.clear();
+		for(int i = other.nextOrdinal(0); i >= 0; i = other.nextOrdinal(i + 1)) {
+			this.setFloat(i, other.values[i]);
+		}
+		return this;
+	}
+
+	@Override
+	protected void grow(int newCapacity) {
+		this.values = Arrays.copyOf(this.values, newCapacity);
+	}
+
+	@Override
+	protected Float valueAt(int ordinal) {
+		return this.values[ordinal];
+	}
+
+	@Override
+	protected void store(int ordinal, Float value) {
+		this.values[ordinal] = value;
+	}
+
+	@Override
+	protected Float defaultValue() {
+		return this.defaultVal;
+	}
+
+	/**
+	 * Get the value returned for absent types.
+	 *
+	 * @return the default value
+	 */
+	public final float getDefaultFloat() {
+		return this.defaultVal;
+	}
+
+	/**
+	 * Get the value mapped to an ordinal
+	 *
+	 * @param ordinal
+	 * @return the value, or the default value if absent.
+	 */
+	public final float getFloat(int ordinal) {
+		return this.contains(ordinal) ? this.values[ordinal] : this.defaultVal;
+	}
+
+	/**
+	 * Get the value mapped to a type
+	 *
+	 * @param type
+	 * @return the value, or the default value if absent.
+	 */
+	public final float getFloat(DDDDamageType type) {
+		return this.getFloat(ordinalOf(type));
+	}
+
+	/**
+	 * Map an ordinal to a value
+	 *
+	 * @param ordinal
+	 * @param value
+	 */
+	public final void setFloat(int ordinal, float value) {
+		this.mark(ordinal);
+		this.values[ordinal] = value;
+	}
+
+	/**
+	 * Map a type to a value
+	 *
+	 * @param type
+	 * @param value
+	 * @throws IllegalArgumentException if the type isn't registered
+	 */
+	public final void setFloat(DDDDamageType type, float value) {
+		this.setFloat(checkedOrdinal(type), value);
+	}
+
+	/**
+	 * Add to the value mapped to an ordinal. Absent ordinals start from the
+	 * default value.
+	 *
+	 * @param ordinal
+	 * @param amount
+	 */
+	public final void addFloat(int ordinal, float amount) {
+		float current = this.getFloat(ordinal);
+		this.setFloat(ordinal, current + amount);
+	}
+
+	/**
+	 * Sum all present values
+	 *
+	 * @return the sum of all present values.
+	 */
+	public final float sum() {
+		float sum = 0.0f;
+		for(int i = this.nextOrdinal(0); i >= 0; i = this.nextOrdinal(i + 1)) {
+			sum += this.values[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Multiply every present value by a factor
+	 *
+	 * @param factor
+	 */
+	public final void scale(float factor) {
+		for(int i = this.nextOrdinal(0); i >= 0; i = this.nextOrdinal(i + 1)) {
+			this.values[i] *= factor;
+		}
+	}
+}
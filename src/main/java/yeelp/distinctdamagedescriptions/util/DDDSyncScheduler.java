@@ -0,0 +1,65 @@
+package yeelp.distinctdamagedescriptions.util;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import yeelp.distinctdamagedescriptions.ModConsts;
+import yeelp.distinctdamagedescriptions.capability.ISyncableCapability;
+import yeelp.distinctdamagedescriptions.handlers.PacketHandler;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+
+/**
+ * Capability syncs. Syncs are coalesced per player and capability, and sent at
+ * the end of the server tick, so a capability that changes several times in
+ * one tick is only synced once.
+ *
+ * @author Yeelp
+ *
+ */
+@Mod.EventBusSubscriber(modid = ModConsts.MODID)
+public final class DDDSyncScheduler {
+	private static final Map<EntityPlayerMP, Set<ISyncableCapability<?>>> PENDING = new IdentityHashMap<EntityPlayerMP, Set<ISyncableCapability<?>>>();
+
+	private DDDSyncScheduler() {
+		throw new UnsupportedOperationException("Class can't be instantiated!");
+	}
+
+	/**
+	 * Sync a capability to a player at the end of the current server tick.
+	 *
+	 * @param cap    the capability
+	 * @param player the player
+	 */
+	public static void schedule(ISyncableCapability<?> cap, EntityPlayerMP player) {
+		boolean added = PENDING.computeIfAbsent(player, (p) -> Collections.newSetFromMap(new IdentityHashMap<ISyncableCapability<?>, Boolean>())).add(cap);
+		if(!added) {
+			DDDInstrumentation.countSyncCoalesced();
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent evt) {
+		if(evt.phase != TickEvent.Phase.END || PENDING.isEmpty()) {
+			return;
+		}
+		for(Map.Entry<EntityPlayerMP, Set<ISyncableCapability<?>>> entry : PENDING.entrySet()) {
+			EntityPlayerMP player = entry.getKey();
+			// dead players are replaced on respawn, and the new player is synced in
+			// full.
+			if(player.hasDisconnected() || player.isDead) {
+				continue;
+			}
+			for(ISyncableCapability<?> cap : entry.getValue()) {
+				PacketHandler.INSTANCE.sendTo(cap.getIMessage(), player);
+				DDDInstrumentation.countSyncSent();
+			}
+		}
+		PENDING.clear();
+	}
+}
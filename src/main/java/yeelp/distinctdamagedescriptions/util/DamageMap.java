@@ -1,10 +1,30 @@
 package yeelp.distinctdamagedescriptions.util;
 
-public final class DamageMap extends DDDBaseMap<Float> {
-
-	private static final long serialVersionUID = 1800888433080051037L;
+public final class DamageMap extends DDDFloatMap {
 
 	public DamageMap() {
-		super(() -> 0.0f);
+		super(0.0f);
+	}
+
+	/**
+	 * Copy this map
+	 *
+	 * @return a new DamageMap with the same contents
+	 */
+	public DamageMap copy() {
+		return (DamageMap) new DamageMap().copyFrom(this);
+	}
+
+	/**
+	 * Copy this map. This map used to be a {@link java.util.HashMap}, and this is
+	 * kept so callers of its {@code clone()} still work.
+	 *
+	 * @return a new DamageMap with the same contents
+	 * @deprecated use {@link #copy()} instead.
+	 */
+	@Deprecated
+	@Override
+	public DamageMap clone() {
+		return this.copy();
 	}
 }
@@ -0,0 +1,286 @@
+package yeelp.distinctdamagedescriptions.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+
+/**
+ * A set of damage types backed by a bitmask over their ordinals in
+ * {@link DDDRegistries#damageTypes}. Membership, equality, intersection and
+ * union are a handful of word operations instead of hashing. Null elements and
+ * unregistered damage types are disallowed.
+ *
+ * @author Yeelp
+ *
+ */
+public final class DamageTypeSet extends AbstractSet<DDDDamageType> {
+	private static final int WORD_BITS = 6;
+	private long[] words;
+	private int size;
+
+	public DamageTypeSet() {
+		this.words = new long[wordsFor(DDDRegistries.damageTypes == null ? 0 : DDDRegistries.damageTypes.size())];
+	}
+
+	public DamageTypeSet(Collection<? extends DDDDamageType> types) {
+		this();
+		this.addAll(types);
+	}
+
+	/**
+	 * Is the type with this ordinal in this set?
+	 *
+	 * @param ordinal
+	 * @return true if present
+	 */
+	public boolean contains(int ordinal) {
+		return ordinal >= 0 && (ordinal >>> WORD_BITS) < this.words.length && (this.words[ordinal >>> WORD_BITS] & (1L << ordinal)) != 0;
+	}
+
+	/**
+	 * Add the type with this ordinal to this set
+	 *
+	 * @param ordinal
+	 * @return true if it wasn't present before
+	 */
+	public boolean add(int ordinal) {
+		int word = ordinal >>> WORD_BITS;
+		if(word >= this.words.length) {
+			this.words = Arrays.copyOf(this.words, word + 1);
+		}
+		long mask = 1L << ordinal;
+		if((this.words[word] & mask) == 0) {
+			this.words[word] |= mask;
+			this.size++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove the type with this ordinal from this set
+	 *
+	 * @param ordinal
+	 * @return true if it was present
+	 */
+	public boolean removeOrdinal(int ordinal) {
+		if(this.contains(ordinal)) {
+			this.words[ordinal >>> WORD_BITS] &= ~(1L << ordinal);
+			this.size--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Get the next ordinal in this set at or after {@code from}. Iterate with
+	 * {@code for(int i = set.nextOrdinal(0); i >= 0; i = set.nextOrdinal(i + 1))}
+	 *
+	 * @param from the ordinal to start searching at
+	 * @return the next ordinal, or -1 if there are none.
+	 */
+	public int nextOrdinal(int from) {
+		int word = from >>> WORD_BITS;
+		if(from < 0 || word >= this.words.length) {
+			return -1;
+		}
+		long bits = this.words[word] & (-1L << from);
+		while(true) {
+			if(bits != 0) {
+				return (word << WORD_BITS) + Long.numberOfTrailingZeros(bits);
+			}
+			if(++word == this.words.length) {
+				return -1;
+			}
+			bits = this.words[word];
+		}
+	}
+
+	/**
+	 * Do this set and another have any type in common?
+	 *
+	 * @param other
+	 * @return true if they intersect
+	 */
+	public boolean intersects(DamageTypeSet other) {
+		for(int i = 0, n = Math.min(this.words.length, other.words.length); i < n; i++) {
+			if((this.words[i] & other.words[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Are the types in this set exactly the keys of a dense map?
+	 *
+	 * @param map
+	 * @return true if this set and the map's key set are equal
+	 */
+	public boolean isKeySetOf(DDDDenseMap<?> map) {
+		if(this.size != map.size()) {
+			return false;
+		}
+		for(int i = 0, n = Math.max(this.words.length, map.keyWords()); i < n; i++) {
+			if(this.word(i) != map.keyWord(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replace the contents of this set with the keys of a dense map
+	 *
+	 * @param map
+	 * @return this
+	 */
+	public DamageTypeSet setToKeysOf(DDDDenseMap<?> map) {
+		if(this.words.length < map.keyWords()) {
+			this.words = new long[map.keyWords()];
+		}
+		for(int i = 0; i < this.words.length; i++) {
+			this.words[i] = map.keyWord(i);
+		}
+		this.size = map.size();
+		return this;
+	}
+
+	/**
+	 * Copy this set
+	 *
+	 * @return a new set with the same types
+	 */
+	public DamageTypeSet copy() {
+		DamageTypeSet copy = new DamageTypeSet();
+		copy.words = this.words.clone();
+		copy.size = this.size;
+		return copy;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.contains(DDDDenseMap.ordinalOf(o));
+	}
+
+	@Override
+	public boolean add(DDDDamageType type) {
+		if(type == null) {
+			throw new NullPointerException("Null damage types disallowed for DamageTypeSet");
+		}
+		int ordinal = DDDDenseMap.ordinalOf(type);
+		if(ordinal < 0) {
+			throw new IllegalArgumentException(type.getTypeName() + " isn't a registered damage type!");
+		}
+		return this.add(ordinal);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return this.removeOrdinal(DDDDenseMap.ordinalOf(o));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends DDDDamageType> c) {
+		if(!(c instanceof DamageTypeSet)) {
+			return super.addAll(c);
+		}
+		DamageTypeSet other = (DamageTypeSet) c;
+		if(this.words.length < other.words.length) {
+			this.words = Arrays.copyOf(this.words, other.words.length);
+		}
+		boolean changed = false;
+		int newSize = 0;
+		for(int i = 0; i < this.words.length; i++) {
+			long w = this.words[i] | other.word(i);
+			changed |= w != this.words[i];
+			this.words[i] = w;
+			newSize += Long.bitCount(w);
+		}
+		this.size = newSize;
+		return changed;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.words, 0L);
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public Iterator<DDDDamageType> iterator() {
+		return new Iterator<DDDDamageType>() {
+			private int next = DamageTypeSet.this.nextOrdinal(0);
+			private int last = -1;
+
+			@Override
+			public boolean hasNext() {
+				return this.next >= 0;
+			}
+
+			@Override
+			public DDDDamageType next() {
+				if(this.next < 0) {
+					throw new NoSuchElementException();
+				}
+				this.last = this.next;
+				this.next = DamageTypeSet.this.nextOrdinal(this.next + 1);
+				return DDDDenseMap.typeOf(this.last);
+			}
+
+			@Override
+			public void remove() {
+				if(this.last < 0) {
+					throw new IllegalStateException();
+				}
+				DamageTypeSet.this.removeOrdinal(this.last);
+				this.last = -1;
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(o instanceof DamageTypeSet) {
+			DamageTypeSet other = (DamageTypeSet) o;
+			if(this.size != other.size) {
+				return false;
+			}
+			for(int i = 0, n = Math.max(this.words.length, other.words.length); i < n; i++) {
+				if(this.word(i) != other.word(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	private long word(int i) {
+		return i < this.words.length ? this.words[i] : 0L;
+	}
+
+	private static int wordsFor(int bits) {
+		return (bits + 63) >>> WORD_BITS;
+	}
+}
@@ -1,12 +1,12 @@
 package yeelp.distinctdamagedescriptions.util;
 
 import java.util.Collection;
+import java.util.Map;
 
 import com.google.common.collect.Sets;
 
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
 import yeelp.distinctdamagedescriptions.capability.IMobResistances;
-import yeelp.distinctdamagedescriptions.util.lib.NonNullMap;
 
 /**
  * Mob Resistances. Holds general species specific resistance information, but
@@ -31,7 +31,7 @@ public class MobResistanceCategories extends ResistanceCategories {
 	 * @param adaptiveChance chance adaptability is present
 	 * @param adaptiveAmount amount resistances change by if adaptive.
 	 */
-	public MobResistanceCategories(NonNullMap<DDDDamageType, Float> resistances, Collection<DDDDamageType> immunities, float adaptiveChance, float adaptiveAmount) {
+	public MobResistanceCategories(Map<DDDDamageType, Float> resistances, Collection<DDDDamageType> immunities, float adaptiveChance, float adaptiveAmount) {
 		super(resistances, immunities);
 		this.adaptive = adaptiveChance;
 		this.adaptiveAmount = adaptiveAmount;
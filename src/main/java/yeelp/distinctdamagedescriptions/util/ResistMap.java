@@ -1,10 +1,30 @@
 package yeelp.distinctdamagedescriptions.util;
 
-public final class ResistMap extends DDDBaseMap<Float> {
-
-	private static final long serialVersionUID = 7527157629195618664L;
+public final class ResistMap extends DDDFloatMap {
 
 	public ResistMap() {
-		super(() -> 0.0f);
+		super(0.0f);
+	}
+
+	/**
+	 * Copy this map
+	 *
+	 * @return a new ResistMap with the same contents
+	 */
+	public ResistMap copy() {
+		return (ResistMap) new ResistMap().copyFrom(this);
+	}
+
+	/**
+	 * Copy this map. This map used to be a {@link java.util.HashMap}, and this is
+	 * kept so callers of its {@code clone()} still work.
+	 *
+	 * @return a new ResistMap with the same contents
+	 * @deprecated use {@link #copy()} instead.
+	 */
+	@Deprecated
+	@Override
+	public ResistMap clone() {
+		return this.copy();
 	}
 }
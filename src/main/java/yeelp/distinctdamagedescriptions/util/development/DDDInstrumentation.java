@@ -0,0 +1,332 @@
+package yeelp.distinctdamagedescriptions.util.development;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import yeelp.distinctdamagedescriptions.DistinctDamageDescriptions;
+import yeelp.distinctdamagedescriptions.ModConsts;
+import yeelp.distinctdamagedescriptions.config.ModConfig;
+import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+
+/**
+ * Timing and counters for DDD's hot paths. When instrumentation is disabled in
+ * the config, every hook here is a single config check.
+ * <p>
+ * Timings are kept as log2 histograms of nanoseconds, so percentiles are
+ * reported as the upper bound of the bucket they fall in. Only time spent on
+ * the logical server is recorded, since it's reported per server tick;
+ * capabilities are attached on the client too, so the counters are still lock
+ * free.
+ *
+ * @author Yeelp
+ *
+ */
+@Mod.EventBusSubscriber(modid = ModConsts.MODID)
+public final class DDDInstrumentation {
+	/**
+	 * Returned by {@link #start()} when instrumentation is disabled.
+	 */
+	public static final long NOT_TIMED = Long.MIN_VALUE;
+	private static final int TOP_ENTRIES = 10;
+
+	public enum Stage {
+		ATTACK("Attack Stage", true),
+		HURT("Hurt Stage", true),
+		DAMAGE("Damage Stage", true),
+		DAMAGE_CLASSIFIER("Damage Classifier", false),
+		ARMOR_CLASSIFIER("Armor Classifier", false),
+		DEFENSES_CLASSIFIER("Defenses Classifier", false),
+		ENTITY_CAPABILITIES("Entity Capabilities", true),
+		ITEM_CAPABILITIES("Item Capabilities", true),
+		TRACKERS("Trackers", true);
+
+		private final String name;
+		private final boolean topLevel;
+		final Histogram histogram = new Histogram();
+
+		private Stage(String name, boolean topLevel) {
+			this.name = name;
+			this.topLevel = topLevel;
+		}
+
+		/**
+		 * Is this stage not nested in another stage? Only top level stages count
+		 * towards DDD's total time.
+		 *
+		 * @return true if top level
+		 */
+		public boolean isTopLevel() {
+			return this.topLevel;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+	}
+
+	static final class Histogram {
+		private final AtomicLongArray buckets = new AtomicLongArray(64);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final AtomicLong max = new AtomicLong();
+
+		void record(long nanos) {
+			this.buckets.incrementAndGet(nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos));
+			this.count.increment();
+			this.total.add(nanos);
+			this.max.accumulateAndGet(nanos, Math::max);
+		}
+
+		/**
+		 * Get an upper bound on a percentile
+		 *
+		 * @param p the percentile, between 0 and 1
+		 * @return the upper bound of the bucket the percentile falls in, in nanos.
+		 */
+		long percentile(double p) {
+			long target = (long) Math.ceil(p * this.count.sum());
+			long seen = 0;
+			for(int i = 0; i < 64; i++) {
+				seen += this.buckets.get(i);
+				if(seen >= target) {
+					return i >= 62 ? Long.MAX_VALUE : 2L << i;
+				}
+			}
+			return this.max.get();
+		}
+
+		void reset() {
+			for(int i = 0; i < 64; i++) {
+				this.buckets.set(i, 0);
+			}
+			this.count.reset();
+			this.total.reset();
+			this.max.set(0);
+		}
+	}
+
+	private static final class EntityStats {
+		final LongAdder hits = new LongAdder();
+		final LongAdder nanos = new LongAdder();
+	}
+
+	private static final Map<String, EntityStats> ENTITY_STATS = new ConcurrentHashMap<String, EntityStats>();
+	private static final Map<Class<? extends Entity>, String> ENTITY_IDS = new ConcurrentHashMap<Class<? extends Entity>, String>();
+	private static final LongAdder SYNCS_SENT = new LongAdder(), SYNCS_COALESCED = new LongAdder();
+	private static volatile AtomicLongArray typeHits = new AtomicLongArray(0);
+	private static volatile long windowStart = System.nanoTime();
+	private static volatile long windowTicks = 0;
+
+	/**
+	 * Is instrumentation enabled?
+	 *
+	 * @return true if enabled
+	 */
+	public static boolean isEnabled() {
+		return ModConfig.dev.enableInstrumentation;
+	}
+
+	/**
+	 * Start timing something.
+	 *
+	 * @return a start time to pass to {@link #record(Stage, long)} or
+	 *         {@link #record(Stage, long, Entity)}, or {@link #NOT_TIMED} if
+	 *         instrumentation is disabled.
+	 */
+	public static long start() {
+		return isEnabled() ? System.nanoTime() : NOT_TIMED;
+	}
+
+	/**
+	 * Finish timing a stage
+	 *
+	 * @param stage the stage
+	 * @param start the value returned from {@link #start()}
+	 */
+	public static void record(Stage stage, long start) {
+		if(start != NOT_TIMED && isServer()) {
+			stage.histogram.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Finish timing a stage, and attribute the time to an entity's ID.
+	 *
+	 * @param stage  the stage
+	 * @param start  the value returned from {@link #start()}
+	 * @param entity the entity to attribute the time to
+	 */
+	public static void record(Stage stage, long start, Entity entity) {
+		if(start != NOT_TIMED && isServer()) {
+			long nanos = System.nanoTime() - start;
+			stage.histogram.record(nanos);
+			EntityStats stats = ENTITY_STATS.computeIfAbsent(getEntityID(entity), (s) -> new EntityStats());
+			stats.hits.increment();
+			stats.nanos.add(nanos);
+		}
+	}
+
+	/**
+	 * Count the damage types in a damage map
+	 *
+	 * @param dmg the damage map
+	 */
+	public static void countDamageTypes(DamageMap dmg) {
+		if(!isEnabled()) {
+			return;
+		}
+		AtomicLongArray hits = typeHits;
+		if(hits.length() < DDDRegistries.damageTypes.size()) {
+			hits = growTypeHits(DDDRegistries.damageTypes.size());
+		}
+		for(int i = dmg.nextOrdinal(0); i >= 0 && i < hits.length(); i = dmg.nextOrdinal(i + 1)) {
+			hits.incrementAndGet(i);
+		}
+	}
+
+	/**
+	 * Count a capability sync packet being sent
+	 */
+	public static void countSyncSent() {
+		if(isEnabled()) {
+			SYNCS_SENT.increment();
+		}
+	}
+
+	/**
+	 * Count a capability sync being merged into one already pending
+	 */
+	public static void countSyncCoalesced() {
+		if(isEnabled()) {
+			SYNCS_COALESCED.increment();
+		}
+	}
+
+	/**
+	 * Reset all counters and start a new window.
+	 */
+	public static void reset() {
+		for(Stage stage : Stage.values()) {
+			stage.histogram.reset();
+		}
+		ENTITY_STATS.clear();
+		SYNCS_SENT.reset();
+		SYNCS_COALESCED.reset();
+		typeHits = new AtomicLongArray(0);
+		windowTicks = 0;
+		windowStart = System.nanoTime();
+	}
+
+	/**
+	 * Summarize everything recorded since the last reset.
+	 *
+	 * @return the lines of the summary
+	 */
+	public static List<String> summarize() {
+		List<String> lines = new ArrayList<String>();
+		long ticks = windowTicks;
+		long topLevelNanos = 0;
+		for(Stage stage : Stage.values()) {
+			if(stage.isTopLevel()) {
+				topLevelNanos += stage.histogram.total.sum();
+			}
+		}
+		lines.add(String.format("DDD performance over %.1fs (%d server ticks): %.3f ms total, %.3f ms/tick", (System.nanoTime() - windowStart) / 1e9, ticks, topLevelNanos / 1e6, ticks == 0 ? 0.0 : topLevelNanos / 1e6 / ticks));
+		for(Stage stage : Stage.values()) {
+			Histogram h = stage.histogram;
+			long count = h.count.sum();
+			if(count == 0) {
+				continue;
+			}
+			lines.add(String.format("  %s: %d calls, avg %s, p50 < %s, p99 < %s, max %s, total %.3f ms", stage, count, formatNanos(h.total.sum() / count), formatNanos(h.percentile(0.5)), formatNanos(h.percentile(0.99)), formatNanos(h.max.get()), h.total.sum() / 1e6));
+		}
+		long sent = SYNCS_SENT.sum(), coalesced = SYNCS_COALESCED.sum();
+		if(sent + coalesced > 0) {
+			lines.add(String.format("  Capability syncs: %d sent, %d coalesced", sent, coalesced));
+		}
+		AtomicLongArray hits = typeHits;
+		List<Integer> types = new ArrayList<Integer>();
+		for(int i = 0; i < hits.length(); i++) {
+			if(hits.get(i) > 0) {
+				types.add(i);
+			}
+		}
+		if(!types.isEmpty()) {
+			types.sort(Comparator.comparingLong((Integer i) -> hits.get(i)).reversed());
+			lines.add("  Hits by damage type:");
+			for(int type : types.subList(0, Math.min(TOP_ENTRIES, types.size()))) {
+				lines.add(String.format("    %s: %d", DDDRegistries.damageTypes.getByOrdinal(type).getTypeName(), hits.get(type)));
+			}
+		}
+		if(!ENTITY_STATS.isEmpty()) {
+			List<Map.Entry<String, EntityStats>> entities = new ArrayList<Map.Entry<String, EntityStats>>(ENTITY_STATS.entrySet());
+			entities.sort(Comparator.comparingLong((Map.Entry<String, EntityStats> e) -> e.getValue().nanos.sum()).reversed());
+			lines.add("  Combat time by entity ID:");
+			for(Map.Entry<String, EntityStats> entry : entities.subList(0, Math.min(TOP_ENTRIES, entities.size()))) {
+				lines.add(String.format("    %s: %d stages, %.3f ms", entry.getKey(), entry.getValue().hits.sum(), entry.getValue().nanos.sum() / 1e6));
+			}
+		}
+		return lines;
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent evt) {
+		if(evt.phase != TickEvent.Phase.END || !isEnabled()) {
+			return;
+		}
+		int interval = ModConfig.dev.instrumentationLogInterval;
+		if(++windowTicks >= interval && interval > 0) {
+			summarize().forEach(DistinctDamageDescriptions::info);
+			reset();
+		}
+	}
+
+	private static synchronized AtomicLongArray growTypeHits(int size) {
+		AtomicLongArray hits = typeHits;
+		if(hits.length() < size) {
+			AtomicLongArray grown = new AtomicLongArray(size);
+			for(int i = 0; i < hits.length(); i++) {
+				grown.set(i, hits.get(i));
+			}
+			typeHits = hits = grown;
+		}
+		return hits;
+	}
+
+	private static boolean isServer() {
+		return FMLCommonHandler.instance().getEffectiveSide().isServer();
+	}
+
+	private static String getEntityID(Entity entity) {
+		return ENTITY_IDS.computeIfAbsent(entity.getClass(), (clazz) -> {
+			if(entity instanceof EntityPlayer) {
+				return "player";
+			}
+			ResourceLocation loc = EntityList.getKey(entity);
+			return loc == null ? clazz.getName() : loc.toString();
+		});
+	}
+
+	private static String formatNanos(long nanos) {
+		if(nanos == Long.MAX_VALUE) {
+			return "inf";
+		}
+		return nanos < 1000000 ? String.format("%.1fus", nanos / 1e3) : String.format("%.2fms", nanos / 1e6);
+	}
+}
@@ -85,6 +85,16 @@ public final class DeveloperModeKernel {
 		return Objects.requireNonNull(backup, "backup can't be null!");
 	}
 
+	/**
+	 * Would a developer mode callback for this event type log anything?
+	 * 
+	 * @param type the event type
+	 * @return true if developer mode is on and enabled for {@code type}
+	 */
+	public static boolean isCallbackEnabled(Class<? extends Event> type) {
+		return ModConfig.dev.enabled && statusMap.get(type).get().isEnabled();
+	}
+
 	private static final <T> void doIfEnabled(@Nonnull T t, @Nonnull BiFunction<T, StringBuilder, StringBuilder> log) {
 		if(ModConfig.dev.enabled && ((currMode = statusMap.get(t.getClass()).get()).isEnabled())) {
 			log(Objects.requireNonNull(log, "action can't be null!").andThen(Functions.toStringFunction()).apply(Objects.requireNonNull(t, "argument to action can't be null"), new StringBuilder()), FMLCommonHandler.instance().getMinecraftServerInstance().getPlayerList().getPlayers());
@@ -0,0 +1,136 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.item.ItemStack;
+import yeelp.distinctdamagedescriptions.api.DDDAPI;
+import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
+import yeelp.distinctdamagedescriptions.init.DDDEnchantments;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.AttackerProfile;
+
+/**
+ * The attacker side of a classification: the distribution an attacker deals
+ * damage with, and the enchantments that change how that damage is resisted.
+ * None of this depends on the defender, so on the server it is resolved at
+ * most once per attacker per tick and reused for every entity that attacker
+ * hits that tick.
+ *
+ * @author Yeelp
+ *
+ */
+final class AttackerClassification implements AttackerProfile {
+	private static final Map<Entity, AttackerClassification> MEMO = new IdentityHashMap<Entity, AttackerClassification>();
+
+	private final Entity attacker;
+	private long tick;
+	private ItemStack heldItem;
+	private boolean distResolved;
+	private IDamageDistribution dist;
+	private boolean enchantsResolved;
+	private boolean slyStrike;
+	private float bruteForce;
+
+	private AttackerClassification(Entity attacker) {
+		this.attacker = attacker;
+		this.reset();
+	}
+
+	/**
+	 * Get the classification for an attacker. Server side, this is memoized for
+	 * the current tick. Client side, a fresh classification is returned.
+	 *
+	 * @param attacker the attacker
+	 * @return the attacker's classification
+	 */
+	static AttackerClassification of(Entity attacker) {
+		if(attacker.world.isRemote) {
+			return new AttackerClassification(attacker);
+		}
+		AttackerClassification classification = MEMO.get(attacker);
+		if(classification == null) {
+			MEMO.put(attacker, classification = new AttackerClassification(attacker));
+		}
+		else if(classification.isStale()) {
+			classification.reset();
+		}
+		return classification;
+	}
+
+	/**
+	 * Forget all memoized classifications. Called at the end of every server tick.
+	 */
+	static void clear() {
+		MEMO.clear();
+	}
+
+	/**
+	 * Get the damage distribution this attacker deals damage with. For a
+	 * projectile, this is the projectile's distribution. For a living attacker,
+	 * this is their held item's distribution, or their own if they aren't holding
+	 * anything.
+	 *
+	 * @return the distribution, or null if there isn't one.
+	 */
+	@Nullable
+	IDamageDistribution getDistribution() {
+		if(!this.distResolved) {
+			this.distResolved = true;
+			if(this.attacker instanceof IProjectile) {
+				this.dist = DDDAPI.accessor.getDamageDistribution((IProjectile) this.attacker).orElse(null);
+			}
+			else if(this.attacker instanceof EntityLivingBase) {
+				this.dist = this.heldItem.isEmpty() ? DDDAPI.accessor.getDamageDistribution((EntityLivingBase) this.attacker).orElse(null) : DDDAPI.accessor.getDamageDistribution(this.heldItem).orElse(null);
+			}
+		}
+		return this.dist;
+	}
+
+	@Override
+	public boolean hasSlyStrike() {
+		this.resolveEnchantments();
+		return this.slyStrike;
+	}
+
+	@Override
+	public float getBruteForce() {
+		this.resolveEnchantments();
+		return this.bruteForce;
+	}
+
+	private void resolveEnchantments() {
+		if(this.enchantsResolved) {
+			return;
+		}
+		this.enchantsResolved = true;
+		if(this.attacker instanceof EntityLivingBase) {
+			EntityLivingBase living = (EntityLivingBase) this.attacker;
+			this.slyStrike = EnchantmentHelper.getMaxEnchantmentLevel(DDDEnchantments.slyStrike, living) > 0;
+			this.bruteForce = 0.1f * EnchantmentHelper.getMaxEnchantmentLevel(DDDEnchantments.bruteForce, living);
+		}
+	}
+
+	private boolean isStale() {
+		return this.tick != this.attacker.world.getTotalWorldTime() || this.heldItem != currentHeldItem(this.attacker);
+	}
+
+	private void reset() {
+		this.tick = this.attacker.world.getTotalWorldTime();
+		this.heldItem = currentHeldItem(this.attacker);
+		this.distResolved = false;
+		this.dist = null;
+		this.enchantsResolved = false;
+		this.slyStrike = false;
+		this.bruteForce = 0.0f;
+	}
+
+	private static ItemStack currentHeldItem(Entity entity) {
+		return entity instanceof EntityLivingBase ? ((EntityLivingBase) entity).getHeldItemMainhand() : ItemStack.EMPTY;
+	}
+}
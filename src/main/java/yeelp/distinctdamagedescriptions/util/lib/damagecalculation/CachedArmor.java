@@ -0,0 +1,123 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
+
+import java.util.Arrays;
+
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemArmor;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.ISpecialArmor;
+import yeelp.distinctdamagedescriptions.api.DDDAPI;
+import yeelp.distinctdamagedescriptions.capability.IArmorDistribution;
+import yeelp.distinctdamagedescriptions.util.ArmorMap;
+
+/**
+ * An entity's armor, resolved per slot. Each slot keeps its armor distributed
+ * by damage type, along with its plain armor and toughness values, and is only
+ * resolved again when the stack in it changes, its durability changes or the
+ * cache is invalidated by an equipment change.
+ * 
+ * @author Yeelp
+ *
+ */
+final class CachedArmor {
+	private static final int SLOTS = 4;
+	private final ArmorMap[] distributed = new ArmorMap[SLOTS];
+	private final boolean[] hasDistribution = new boolean[SLOTS];
+	private final boolean[] fresh = new boolean[SLOTS];
+	private final ItemStack[] stacks = new ItemStack[SLOTS];
+	private final int[] durability = new int[SLOTS];
+	private final float[] armor = new float[SLOTS], toughness = new float[SLOTS];
+	private final boolean[] isArmor = new boolean[SLOTS];
+
+	CachedArmor() {
+		for(int i = 0; i < SLOTS; i++) {
+			this.distributed[i] = new ArmorMap();
+		}
+	}
+
+	/**
+	 * Force all slots to be resolved again next time they're used.
+	 */
+	void invalidate() {
+		Arrays.fill(this.fresh, false);
+		Arrays.fill(this.stacks, null);
+	}
+
+	/**
+	 * Sum the distributed armor in the given slots into a map.
+	 * 
+	 * @param entity the entity wearing the armor
+	 * @param slots  the armor slots to include
+	 * @param into   the map to write to. Cleared first.
+	 * @return {@code into}
+	 */
+	ArmorMap distribute(EntityLivingBase entity, EntityEquipmentSlot[] slots, ArmorMap into) {
+		into.clear();
+		for(EntityEquipmentSlot slot : slots) {
+			int i = this.resolve(entity, slot);
+			if(this.hasDistribution[i]) {
+				into.addAll(this.distributed[i]);
+			}
+		}
+		return into;
+	}
+
+	/**
+	 * Is the stack in this slot plain (non {@link ISpecialArmor}) armor?
+	 * 
+	 * @param entity
+	 * @param slot
+	 * @return true if the slot contains an {@link ItemArmor} that isn't
+	 *         {@link ISpecialArmor}
+	 */
+	boolean isPlainArmor(EntityLivingBase entity, EntityEquipmentSlot slot) {
+		return this.isArmor[this.resolve(entity, slot)];
+	}
+
+	/**
+	 * @return the plain armor value in this slot. Only meaningful if
+	 *         {@link #isPlainArmor(EntityLivingBase, EntityEquipmentSlot)}
+	 */
+	float getArmor(EntityLivingBase entity, EntityEquipmentSlot slot) {
+		return this.armor[this.resolve(entity, slot)];
+	}
+
+	/**
+	 * @return the plain toughness value in this slot. Only meaningful if
+	 *         {@link #isPlainArmor(EntityLivingBase, EntityEquipmentSlot)}
+	 */
+	float getToughness(EntityLivingBase entity, EntityEquipmentSlot slot) {
+		return this.toughness[this.resolve(entity, slot)];
+	}
+
+	private int resolve(EntityLivingBase entity, EntityEquipmentSlot slot) {
+		int i = slot.getIndex();
+		ItemStack stack = entity.getItemStackFromSlot(slot);
+		if(this.fresh[i] && stack == this.stacks[i] && stack.getItemDamage() == this.durability[i]) {
+			return i;
+		}
+		this.stacks[i] = stack;
+		this.durability[i] = stack.getItemDamage();
+		this.fresh[i] = true;
+		this.hasDistribution[i] = false;
+		this.isArmor[i] = false;
+		Item item = stack.getItem();
+		if(item instanceof ItemArmor) {
+			ItemArmor itemArmor = (ItemArmor) item;
+			IArmorDistribution dist = DDDAPI.accessor.getArmorResistances(stack).orElse(null);
+			if(dist != null) {
+				this.distributed[i].clear();
+				dist.distributeArmor(itemArmor.damageReduceAmount, itemArmor.toughness, this.distributed[i]);
+				this.hasDistribution[i] = true;
+			}
+			if(!(item instanceof ISpecialArmor)) {
+				this.isArmor[i] = true;
+				this.armor[i] = itemArmor.damageReduceAmount;
+				this.toughness[i] = itemArmor.toughness;
+			}
+		}
+		return i;
+	}
+}
@@ -0,0 +1,54 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
+
+import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.capability.IDamageResistances;
+import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
+
+/**
+ * An entity's resolved base defenses. These are reused until the resistances
+ * capability they were resolved from reports a new version, or something that
+ * could change them (potions, equipment) invalidates the cache.
+ * 
+ * @author Yeelp
+ *
+ */
+final class CachedDefenses {
+	private final MobDefenses defenses = new MobDefenses();
+	private IDamageResistances owner;
+	private long version;
+
+	CachedDefenses() {
+		super();
+	}
+
+	/**
+	 * Get the resolved defenses for a resistances capability, resolving them again
+	 * only if they are stale.
+	 * 
+	 * @param resists the capability
+	 * @return the resolved defenses. Shared, do not modify.
+	 */
+	MobDefenses get(IDamageResistances resists) {
+		long currentVersion = resists.getVersion();
+		if(currentVersion < 0 || resists != this.owner || currentVersion != this.version) {
+			this.defenses.clear();
+			for(int i = 0, size = DDDRegistries.damageTypes.size(); i < size; i++) {
+				DDDDamageType type = DDDRegistries.damageTypes.getByOrdinal(i);
+				this.defenses.resistances.setFloat(i, resists.getResistance(type));
+				if(resists.hasImmunity(type)) {
+					this.defenses.immunities.add(i);
+				}
+			}
+			this.owner = currentVersion < 0 ? null : resists;
+			this.version = currentVersion;
+		}
+		return this.defenses;
+	}
+
+	/**
+	 * Force the defenses to be resolved again next time.
+	 */
+	void invalidate() {
+		this.owner = null;
+	}
+}
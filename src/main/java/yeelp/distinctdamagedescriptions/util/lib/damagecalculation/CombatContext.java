@@ -1,9 +1,9 @@
 package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
 
-import java.util.Optional;
 import java.util.Set;
 
-import com.google.common.collect.ImmutableList;
+import javax.annotation.Nullable;
+
 import com.google.common.collect.ImmutableSet;
 
 import net.minecraft.entity.Entity;
@@ -12,31 +12,75 @@ import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.math.Vec3d;
-
+import yeelp.distinctdamagedescriptions.util.ArmorMap;
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+
+/**
+ * A mutable context for one damage calculation. Each {@link DDDCombatTracker}
+ * owns one and resets it between calculations rather than reallocating it. The
+ * context also owns the scratch maps the classifiers write into, so their
+ * contents are only valid until the next calculation on the same tracker.
+ * 
+ * @author Yeelp
+ *
+ */
 final class CombatContext {
 
 	private static final Set<DamageSource> HELMET_ONLY = ImmutableSet.of(DamageSource.ANVIL, DamageSource.FALLING_BLOCK);
 	private static final Set<DamageSource> BOOTS_ONLY = ImmutableSet.of();
+	private static final EntityEquipmentSlot[] NO_SLOTS = {};
+	private static final EntityEquipmentSlot[] HELMET_SLOT = {
+			EntityEquipmentSlot.HEAD};
+	private static final EntityEquipmentSlot[] BOOTS_SLOT = {
+			EntityEquipmentSlot.FEET};
 	private static final EntityEquipmentSlot[] armorSlots = {
 			EntityEquipmentSlot.CHEST,
 			EntityEquipmentSlot.FEET,
 			EntityEquipmentSlot.HEAD,
 			EntityEquipmentSlot.LEGS};
 
-	private final DamageSource src;
-	private final float amount;
-	private final Entity attacker;
-	private final EntityLivingBase defender;
-	private Optional<ItemStack> shield;
-	private Iterable<EntityEquipmentSlot> validArmorSlots;
+	private DamageSource src;
+	private float amount;
+	private Entity attacker;
+	private EntityLivingBase defender;
+	private ItemStack shield;
+	private EntityEquipmentSlot[] validArmorSlots = NO_SLOTS;
+
+	private final DamageMap damage = new DamageMap();
+	private final ArmorMap armor = new ArmorMap();
+	private final MobDefenses defenses = new MobDefenses();
+	private final CachedDefenses cachedDefenses = new CachedDefenses();
+	private final CachedArmor cachedArmor = new CachedArmor();
+
+	CombatContext() {
+		super();
+	}
 
-	CombatContext(DamageSource src, float amount, Entity attacker, EntityLivingBase defender) {
+	/**
+	 * Set up this context for a new calculation.
+	 * 
+	 * @return this context
+	 */
+	CombatContext set(DamageSource src, float amount, @Nullable Entity attacker, EntityLivingBase defender) {
 		this.src = src;
 		this.amount = amount;
 		this.attacker = attacker;
 		this.defender = defender;
-		this.validArmorSlots = determineValidArmorSlots(this.src);
-		this.shield = getBlockingShield(this.defender, this.src);
+		this.validArmorSlots = determineValidArmorSlots(src);
+		this.shield = getBlockingShield(defender, src);
+		return this;
+	}
+
+	/**
+	 * Drop all references held by this context.
+	 */
+	void reset() {
+		this.src = null;
+		this.amount = 0.0f;
+		this.attacker = null;
+		this.defender = null;
+		this.shield = null;
+		this.validArmorSlots = NO_SLOTS;
 	}
 
 	/**
@@ -69,47 +113,82 @@ final class CombatContext {
 	}
 
 	/**
-	 * @return the validArmorSlots
+	 * @return the validArmorSlots. Shared, do not modify.
 	 */
-	Iterable<EntityEquipmentSlot> getValidArmorSlots() {
+	EntityEquipmentSlot[] getValidArmorSlots() {
 		return this.validArmorSlots;
 	}
 
 	/**
-	 * @return the shield
+	 * @return the shield, or null if the defender isn't blocking with one.
 	 */
-	Optional<ItemStack> getShield() {
+	@Nullable
+	ItemStack getShield() {
 		return this.shield;
 	}
 
-	private static Iterable<EntityEquipmentSlot> determineValidArmorSlots(DamageSource src) {
-		ImmutableList.Builder<EntityEquipmentSlot> builder = ImmutableList.builder();
+	/**
+	 * @return the scratch DamageMap for this context
+	 */
+	DamageMap getDamageBuffer() {
+		return this.damage;
+	}
+
+	/**
+	 * @return the scratch ArmorMap for this context
+	 */
+	ArmorMap getArmorBuffer() {
+		return this.armor;
+	}
+
+	/**
+	 * @return the scratch MobDefenses for this context
+	 */
+	MobDefenses getDefensesBuffer() {
+		return this.defenses;
+	}
+
+	/**
+	 * @return the defender's cached defenses. Survives {@link #reset()}.
+	 */
+	CachedDefenses getCachedDefenses() {
+		return this.cachedDefenses;
+	}
+
+	/**
+	 * @return the defender's cached armor. Survives {@link #reset()}.
+	 */
+	CachedArmor getCachedArmor() {
+		return this.cachedArmor;
+	}
+
+	private static EntityEquipmentSlot[] determineValidArmorSlots(DamageSource src) {
 		if(src.isUnblockable()) {
-			return builder.build();
+			return NO_SLOTS;
 		}
 		if(HELMET_ONLY.contains(src)) {
-			builder.add(EntityEquipmentSlot.HEAD);
+			return HELMET_SLOT;
 		}
 		else if(BOOTS_ONLY.contains(src)) {
-			builder.add(EntityEquipmentSlot.FEET);
-		}
-		else {
-			builder.add(armorSlots);
+			return BOOTS_SLOT;
 		}
-		return builder.build();
+		return armorSlots;
 	}
 
-	private static Optional<ItemStack> getBlockingShield(EntityLivingBase defender, DamageSource src) {
+	@Nullable
+	private static ItemStack getBlockingShield(EntityLivingBase defender, DamageSource src) {
 		if(defender.isActiveItemStackBlocking()) {
 			Vec3d srcVec = src.getDamageLocation();
 			if(srcVec != null) {
-				Vec3d look = defender.getLook(1.0f),
-						diff = srcVec.subtractReverse(new Vec3d(defender.posX, defender.posY, defender.posZ)).normalize();
-				if(new Vec3d(diff.x, 0, diff.z).dotProduct(look) < 0.0) {
-					return Optional.of(defender.getActiveItemStack());
+				Vec3d look = defender.getLook(1.0f);
+				double dx = defender.posX - srcVec.x, dy = defender.posY - srcVec.y, dz = defender.posZ - srcVec.z;
+				// Normalizing doesn't change the sign of the dot product, but it does zero
+				// out degenerate vectors, so check for those instead.
+				if(dx * dx + dy * dy + dz * dz >= 1.0E-8 && dx * look.x + dz * look.z < 0.0) {
+					return defender.getActiveItemStack();
 				}
 			}
 		}
-		return Optional.empty();
+		return null;
 	}
 }
@@ -3,6 +3,7 @@ package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
 import java.util.OptionalDouble;
 
 import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.CombatRecorder;
 
 public final class CombatResults {
 	public static final CombatResults NO_RESULTS = new CombatResults();
@@ -58,49 +59,104 @@ public final class CombatResults {
 		return Float.isNaN(this.shieldRatio) ? OptionalDouble.empty() : OptionalDouble.of(this.shieldRatio);
 	}
 
-	public static final class ResultsBuilder {
+	/**
+	 * Get the final amount without wrapping it.
+	 * 
+	 * @return the amount, or NaN if there is none.
+	 */
+	float getRawAmount() {
+		return this.amount;
+	}
+
+	/**
+	 * A reusable builder for CombatResults. The last built result is kept until
+	 * the builder changes, so building repeatedly doesn't allocate.
+	 * 
+	 * @author Yeelp
+	 *
+	 */
+	public static final class ResultsBuilder implements CombatRecorder {
 		private boolean shield, weakness, resistance, adaptive, immunity;
 		private float startingAmount, shieldBlockDmg;
 		private float amount = Float.NaN;
+		private CombatResults built;
 
+		@Override
 		public ResultsBuilder hasEffectiveShield(DamageMap newDmg) {
 			this.shield = true;
-			this.shieldBlockDmg = newDmg.values().stream().reduce(Float::sum).orElse(0.0f);
+			this.shieldBlockDmg = newDmg.sum();
+			this.built = null;
 			return this;
 		}
 
+		@Override
 		public ResultsBuilder hasWeakness() {
 			this.weakness = true;
+			this.built = null;
 			return this;
 		}
 
+		@Override
 		public ResultsBuilder hasResistance() {
 			this.resistance = true;
+			this.built = null;
 			return this;
 		}
 
+		@Override
 		public ResultsBuilder hasImmunity() {
 			this.immunity = true;
+			this.built = null;
 			return this;
 		}
 
 		public ResultsBuilder wasAdaptive() {
 			this.adaptive = true;
+			this.built = null;
 			return this;
 		}
 
+		@Override
 		public ResultsBuilder withAmount(float amount) {
 			this.amount = amount;
+			this.built = null;
 			return this;
 		}
 
+		@Override
 		public ResultsBuilder withStartingDamage(float amount) {
 			this.startingAmount = amount;
+			this.built = null;
+			return this;
+		}
+
+		/**
+		 * Get the ratio of blocked damage to starting damage, without building.
+		 * 
+		 * @return the shield ratio, or NaN if there is no starting damage.
+		 */
+		public float getShieldRatio() {
+			return this.startingAmount > 0 ? this.shieldBlockDmg / this.startingAmount : Float.NaN;
+		}
+
+		/**
+		 * Reset this builder to its initial state
+		 * 
+		 * @return this
+		 */
+		public ResultsBuilder reset() {
+			this.shield = this.weakness = this.resistance = this.adaptive = this.immunity = false;
+			this.startingAmount = this.shieldBlockDmg = 0.0f;
+			this.amount = Float.NaN;
+			this.built = null;
 			return this;
 		}
 
 		public CombatResults build() {
-			return new CombatResults(this.weakness, this.resistance, this.immunity, this.adaptive, this.shield, this.amount, this.startingAmount, this.shieldBlockDmg);
+			if(this.built == null) {
+				this.built = new CombatResults(this.weakness, this.resistance, this.immunity, this.adaptive, this.shield, this.amount, this.startingAmount, this.shieldBlockDmg);
+			}
+			return this.built;
 		}
 	}
 }
@@ -1,9 +1,5 @@
 package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
 
-import com.google.common.base.Functions;
-import com.google.common.base.Predicates;
-import com.google.common.collect.Sets;
-import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.SharedMonsterAttributes;
@@ -11,62 +7,75 @@ import net.minecraft.entity.ai.attributes.AttributeModifier;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.Item;
-import net.minecraft.item.ItemArmor;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.CombatTracker;
 import net.minecraft.util.DamageSource;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraftforge.common.ISpecialArmor;
 import net.minecraftforge.common.ISpecialArmor.ArmorProperties;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingAttackEvent;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.entity.living.LivingKnockBackEvent;
+import net.minecraftforge.event.entity.living.PotionEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import yeelp.distinctdamagedescriptions.ModConsts;
 import yeelp.distinctdamagedescriptions.api.DDDAPI;
 import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.capability.IMobResistances;
 import yeelp.distinctdamagedescriptions.capability.impl.ShieldDistribution;
 import yeelp.distinctdamagedescriptions.config.ModConfig;
 import yeelp.distinctdamagedescriptions.event.DDDHooks;
 import yeelp.distinctdamagedescriptions.event.calculation.ShieldBlockEvent;
 import yeelp.distinctdamagedescriptions.event.calculation.UpdateAdaptiveResistanceEvent;
-import yeelp.distinctdamagedescriptions.init.DDDEnchantments;
 import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
 import yeelp.distinctdamagedescriptions.util.ArmorMap;
 import yeelp.distinctdamagedescriptions.util.ArmorValues;
+import yeelp.distinctdamagedescriptions.util.DDDDenseMap;
 import yeelp.distinctdamagedescriptions.util.DDDEffects;
 import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation.Stage;
 import yeelp.distinctdamagedescriptions.util.development.DeveloperModeKernel;
-import yeelp.distinctdamagedescriptions.util.lib.YMath;
 import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.CombatResults.ResultsBuilder;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.ArmorTotals;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.AttackerProfile;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.CombatKernel;
 
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 @Mod.EventBusSubscriber(modid = ModConsts.MODID)
 public class DDDCombatTracker extends CombatTracker {
 
 	private static Random rand = new Random();
-	private static final IClassifier<DamageMap> DAMAGE_CLASSIFIER = new DamageClassifier();
-	private static final IClassifier<ArmorMap> ARMOR_CLASSIFIER = new ArmorClassifier();
-	private static final IClassifier<MobDefenses> DEFENSES_CLASSIFIER = new DefensesClassifier();
+	private static final IClassifier<DamageMap> DAMAGE_CLASSIFIER = new TimedClassifier<DamageMap>(new DamageClassifier(), Stage.DAMAGE_CLASSIFIER);
+	private static final IClassifier<ArmorMap> ARMOR_CLASSIFIER = new TimedClassifier<ArmorMap>(new ArmorClassifier(), Stage.ARMOR_CLASSIFIER);
+	private static final IClassifier<MobDefenses> DEFENSES_CLASSIFIER = new TimedClassifier<MobDefenses>(new DefensesClassifier(), Stage.DEFENSES_CLASSIFIER);
 	private static final EntityEquipmentSlot[] ARMOR_SLOTS = Arrays.stream(EntityEquipmentSlot.values()).filter((ees) -> ees.getSlotType() == EntityEquipmentSlot.Type.ARMOR).toArray(EntityEquipmentSlot[]::new);
 	public static final UUID ARMOR_CALC_UUID = UUID.fromString("72e5859a-02d8-4170-9632-f9786547d697");
 	public static final UUID TOUGHNESS_CALC_UUID = UUID.fromString("c19d6077-8772-460e-8250-d7780cbb85ca");
 
+	// Everything below is reset, not reallocated, between calculations.
+	private final CombatContext ctx = new CombatContext();
+	private final ResultsBuilder results = new ResultsBuilder();
+	private final ArmorValues armors = new ArmorValues();
+	private final ArmorTotals armorTotals = new ArmorTotals();
+	private final ArmorValues itemArmor = new ArmorValues(), specialArmor = new ArmorValues();
+	private ArmorMap armorMap;
+	private boolean inCalculation, classified, hasArmors, hasSpecialArmor;
+	// Direct armor reduction, carried from LivingHurtEvent to LivingDamageEvent.
+	private boolean directArmor;
+	private float directAmount, vanillaAmount, absorption;
 	private DDDDamageType type;
-	private CombatContext ctx;
-	private ResultsBuilder results;
-	private ArmorValues armors;
 	private ShieldDistribution usedShieldDist;
-	private Optional<DamageMap> incomingDamage;
+	private DamageMap incomingDamage;
 
 	public DDDCombatTracker(EntityLivingBase entity) {
 		super(entity);
@@ -75,11 +84,16 @@ public class DDDCombatTracker extends CombatTracker {
 
 	public void clear() {
 		this.type = null;
-		this.ctx = null;
-		this.armors = null;
+		this.ctx.reset();
+		this.inCalculation = false;
+		this.classified = false;
+		this.hasArmors = false;
+		this.hasSpecialArmor = false;
+		this.directArmor = false;
 		this.incomingDamage = null;
+		this.armorMap = null;
 		this.usedShieldDist = null;
-		this.results = new ResultsBuilder();
+		this.results.reset();
 	}
 
 	public CombatResults getRecentResults() {
@@ -91,7 +105,7 @@ public class DDDCombatTracker extends CombatTracker {
 	}
 
 	public Optional<ArmorValues> getNewArmorValues() {
-		return Optional.ofNullable(this.armors);
+		return this.hasArmors ? Optional.of(this.armors) : Optional.empty();
 	}
 
 	public Optional<ShieldDistribution> getCurrentlyUsedShieldDistribution() {
@@ -100,15 +114,17 @@ public class DDDCombatTracker extends CombatTracker {
 
 	public void handleAttackStage(LivingAttackEvent evt) {
 		this.updateContextAndDamage(evt.getSource(), evt.getAmount(), evt.getSource().getImmediateSource());
-		if(this.getIncomingDamage().isPresent() && this.ctx.getShield().isPresent() && this.ctx.getShield().get().hasCapability(ShieldDistribution.cap, null)) {
-			DamageMap dmg = this.getIncomingDamage().get();
-			ItemStack shield = this.ctx.getShield().get();
+		DamageMap dmg = this.getIncomingDamage();
+		ItemStack shield = this.ctx.getShield();
+		if(dmg != null && shield != null && shield.hasCapability(ShieldDistribution.cap, null)) {
 			ShieldBlockEvent blockEvt = DDDHooks.fireShieldBlock(this.ctx.getImmediateAttacker(), this.ctx.getTrueAttacker(), this.getFighter(), this.ctx.getSource(), dmg, shield);
-			if(!blockEvt.isCanceled() && Sets.intersection(blockEvt.getShieldDistribution().getCategories(), dmg.keySet()).size() > 0) {
+			// No event means nothing could have changed or canceled the shield's distribution.
+			ShieldDistribution shieldDist = blockEvt == null ? shield.getCapability(ShieldDistribution.cap, null) : blockEvt.isCanceled() ? null : blockEvt.getShieldDistribution();
+			if(shieldDist != null && CombatKernel.blocksAny(shieldDist, dmg)) {
 				// Set the currently used shield distribution, but don't actually block damage.
 				// We can't do that in LivingAttackEvent, save it and do it first thing in
 				// LivingHurtEvent
-				this.usedShieldDist = blockEvt.getShieldDistribution();
+				this.usedShieldDist = shieldDist;
 				if(this.ctx.getImmediateAttacker() instanceof EntityLivingBase) {
 					EntityLivingBase attacker = (EntityLivingBase) this.ctx.getImmediateAttacker();
 					this.getFighter().blockUsingShield(attacker);
@@ -120,80 +136,98 @@ public class DDDCombatTracker extends CombatTracker {
 
 	public void handleHurtStage(LivingHurtEvent evt) {
 		this.updateContextAndDamage(evt.getSource(), evt.getAmount(), evt.getSource().getImmediateSource());
-		this.getIncomingDamage().filter(Predicates.not(Map::isEmpty)).ifPresent((m) -> {
-			this.getCurrentlyUsedShieldDistribution().ifPresent((shield) -> {
-				shield.block(m);
-				this.results.hasEffectiveShield(m);
-				this.ctx.getShield().ifPresent((stack) -> stack.damageItem((int) (evt.getAmount() * (this.getRecentResults().getShieldRatio().getAsDouble())), this.getFighter()));
-			});
-			if(!m.isEmpty()) {
-				this.type = m.keySet().stream().collect(Collectors.toList()).get(rand.nextInt(m.size()));
+		DamageMap m = this.getIncomingDamage();
+		if(m == null || m.isEmpty()) {
+			return;
+		}
+		if(this.usedShieldDist != null) {
+			this.usedShieldDist.block(m);
+			this.results.hasEffectiveShield(m);
+			ItemStack shield = this.ctx.getShield();
+			if(shield != null) {
+				shield.damageItem((int) (evt.getAmount() * this.results.getShieldRatio()), this.getFighter());
 			}
-			ARMOR_CLASSIFIER.classify(this.ctx).ifPresent((aMap) -> {
-				this.armors = m.keySet().stream().filter((t) -> m.get(t) > 0).reduce(new ArmorValues(), (av, t) -> ArmorValues.merge(av, aMap.get(t)), ArmorValues::merge);
-			});
-		});
+		}
+		int ordinal = CombatKernel.pickType(m, rand);
+		if(ordinal >= 0) {
+			this.type = DDDDenseMap.typeOf(ordinal);
+		}
+		ArmorMap aMap = ARMOR_CLASSIFIER.classify(this.ctx);
+		if(aMap != null) {
+			CombatKernel.sumArmor(aMap, m, this.armorTotals);
+			this.armors.setValues(this.armorTotals.getArmor(), this.armorTotals.getToughness());
+			this.armorMap = aMap;
+			this.hasArmors = true;
+		}
 	}
 
 	public void handleDamageStage(LivingDamageEvent evt) {
 		this.updateContextAndDamage(evt.getSource(), evt.getAmount(), evt.getSource().getImmediateSource());
-		this.getIncomingDamage().filter(Predicates.not(Map::isEmpty)).ifPresent((m) -> {
-			DEFENSES_CLASSIFIER.classify(this.ctx).ifPresent((defenses) -> {
-				final boolean slyStrike;
-				final float bruteForce;
-				if(this.ctx.getImmediateAttacker() instanceof EntityLivingBase) {
-					EntityLivingBase attacker = (EntityLivingBase) this.ctx.getImmediateAttacker();
-					slyStrike = EnchantmentHelper.getMaxEnchantmentLevel(DDDEnchantments.slyStrike, attacker) > 0;
-					bruteForce = 0.1f * EnchantmentHelper.getMaxEnchantmentLevel(DDDEnchantments.bruteForce, attacker);
+		DamageMap m = this.getIncomingDamage();
+		if(m == null || m.isEmpty()) {
+			return;
+		}
+		MobDefenses defenses = DEFENSES_CLASSIFIER.classify(this.ctx);
+		if(defenses != null) {
+			AttackerProfile attacker = this.ctx.getImmediateAttacker() instanceof EntityLivingBase ? AttackerClassification.of(this.ctx.getImmediateAttacker()) : AttackerProfile.NONE;
+			CombatKernel.applyDefenses(m, attacker, defenses, this.results);
+			IMobResistances resistances = DDDAPI.accessor.getMobResistances(this.getFighter()).orElse(null);
+			if(resistances != null) {
+				this.updateAdaptiveResistances(resistances, m, defenses);
+			}
+		}
+		this.results.withAmount(m.sum());
+	}
+
+	private void updateAdaptiveResistances(IMobResistances resistances, DamageMap m, MobDefenses defenses) {
+		UpdateAdaptiveResistanceEvent updateEvt = DDDHooks.fireUpdateAdaptiveResistances(this.ctx.getImmediateAttacker(), this.ctx.getTrueAttacker(), this.getFighter(), this.ctx.getSource(), m, defenses.resistances, defenses.immunities);
+		if(updateEvt == null) {
+			// Nobody could have changed the result, amount or damage, so this is the
+			// DEFAULT case.
+			if(resistances.hasAdaptiveResistance()) {
+				if(resistances.updateAdaptiveResistance(m)) {
+					this.results.wasAdaptive();
 				}
-				else {
-					slyStrike = false;
-					bruteForce = 0.0f;
+				if(this.getFighter() instanceof EntityPlayer) {
+					resistances.sync((EntityPlayer) this.getFighter());
+				}
+			}
+			return;
+		}
+		switch(updateEvt.getResult()) {
+			case DEFAULT:
+				if(!resistances.hasAdaptiveResistance()) {
+					break;
 				}
-				if(!slyStrike && defenses.immunities.stream().map(Functions.compose((f) -> f != null && f > 0.0f, m::remove)).reduce(Boolean::logicalOr).orElse(false)) {
-					this.results.hasImmunity();
+				// FALL_THROUGH
+			case ALLOW:
+				float temp = resistances.getAdaptiveAmount();
+				// only swap the amount in if a listener changed it, so the swap alone
+				// doesn't dirty the capability for syncing.
+				boolean swap = updateEvt.getAdaptiveAmount() != temp;
+				if(swap) {
+					resistances.setAdaptiveAmount(updateEvt.getAdaptiveAmount());
 				}
-				defenses.resistances.forEach((k, v) -> {
-					float resist = v > 0 ? MathHelper.clamp(v - bruteForce, 0.0f, 1.0f) : v;
-					if(m.computeIfPresent(k, (type, dmg) -> dmg * Math.max(1 - resist, 0)) != null) {
-						if(resist > 0) {
-							this.results.hasResistance();
-						}
-						else if(resist < 0) {
-							this.results.hasWeakness();
-						}
-					}
-				});
-				DDDAPI.accessor.getMobResistances(this.getFighter()).ifPresent((resistances) -> {
-					UpdateAdaptiveResistanceEvent updateEvt = DDDHooks.fireUpdateAdaptiveResistances(this.ctx.getImmediateAttacker(), this.ctx.getTrueAttacker(), this.getFighter(), this.ctx.getSource(), m, defenses.resistances, defenses.immunities);
-					switch(updateEvt.getResult()) {
-						case DEFAULT:
-							if(!resistances.hasAdaptiveResistance()) {
-								break;
-							}
-							// FALL_THROUGH
-						case ALLOW:
-							float temp = resistances.getAdaptiveAmount();
-							resistances.setAdaptiveAmount(updateEvt.getAdaptiveAmount());
-							if(resistances.updateAdaptiveResistance(updateEvt.getDamageToAdaptTo())) {
-								this.results.wasAdaptive();
-							}
-							resistances.setAdaptiveAmount(temp);
-							if(this.getFighter() instanceof EntityPlayer) {
-								resistances.sync((EntityPlayer) this.getFighter());
-							}
-						default:
-							break;
-					}
-				});
-			});
-			this.results.withAmount((float) YMath.sum(m.values()));
-		});
+				if(resistances.updateAdaptiveResistance(updateEvt.getDamageToAdaptTo())) {
+					this.results.wasAdaptive();
+				}
+				if(swap) {
+					resistances.setAdaptiveAmount(temp);
+				}
+				if(this.getFighter() instanceof EntityPlayer) {
+					resistances.sync((EntityPlayer) this.getFighter());
+				}
+			default:
+				break;
+		}
 	}
 
 	@Override
 	public ITextComponent getDeathMessage() {
-		return this.getTypeLastHitBy().filter((t) -> ModConfig.core.useCustomDeathMessages).map((t) -> DDDRegistries.damageTypes.getDeathMessageForType(t, this.ctx.getSource().getTrueSource(), this.getFighter())).orElse(super.getDeathMessage());
+		if(this.type != null && ModConfig.core.useCustomDeathMessages) {
+			return DDDRegistries.damageTypes.getDeathMessageForType(this.type, this.ctx.getSource().getTrueSource(), this.getFighter());
+		}
+		return super.getDeathMessage();
 	}
 
 	@Override
@@ -202,30 +236,156 @@ public class DDDCombatTracker extends CombatTracker {
 		super.reset();
 	}
 
-	private Optional<DamageMap> getIncomingDamage() {
-		if(this.ctx != null) {
-			if(this.incomingDamage == null) {
-				return this.incomingDamage = DAMAGE_CLASSIFIER.classify(this.ctx);
-			}
-			return this.incomingDamage;
+	/**
+	 * Get the incoming damage for the current calculation, classifying it the
+	 * first time it's needed. The returned map is this tracker's scratch map and
+	 * is reused by the next calculation.
+	 * 
+	 * @return the incoming damage, or null if there is none.
+	 */
+	@Nullable
+	private DamageMap getIncomingDamage() {
+		if(!this.inCalculation) {
+			return null;
+		}
+		if(!this.classified) {
+			this.incomingDamage = DAMAGE_CLASSIFIER.classify(this.ctx);
+			this.classified = true;
 		}
-		return Optional.empty();
+		return this.incomingDamage;
 	}
 
 	private void updateContextAndDamage(DamageSource newSrc, float amount, @Nullable Entity attacker) {
-		if(this.ctx == null) {
-			this.ctx = new CombatContext(newSrc, amount, attacker, this.getFighter());
+		if(!this.inCalculation) {
+			this.ctx.set(newSrc, amount, attacker, this.getFighter());
+			this.inCalculation = true;
 			this.results.withStartingDamage(amount);
 		}
-		else if(this.incomingDamage != null) {
-			this.getIncomingDamage().ifPresent((map) -> {
-				float dmg = (float) YMath.sum(map.values());
-				if(Math.abs(amount - dmg) >= 0.01 && dmg != 0) {
-					float ratio = amount / dmg;
-					map.keySet().forEach((k) -> map.computeIfPresent(k, (key, val) -> val * ratio));
-				}
-			});
+		else if(this.classified && this.incomingDamage != null) {
+			DamageMap map = this.incomingDamage;
+			float dmg = map.sum();
+			if(Math.abs(amount - dmg) >= 0.01 && dmg != 0) {
+				map.scale(amount / dmg);
+			}
+		}
+	}
+
+	private void applyArmorModifiers(LivingHurtEvent evt) {
+		if(this.sumItemArmor(evt)) {
+			this.setArmorModifiers();
+		}
+	}
+
+	private void setArmorModifiers() {
+		EntityLivingBase fighter = this.getFighter();
+		fighter.getEntityAttribute(SharedMonsterAttributes.ARMOR).removeModifier(ARMOR_CALC_UUID);
+		fighter.getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).removeModifier(TOUGHNESS_CALC_UUID);
+		fighter.getEntityAttribute(SharedMonsterAttributes.ARMOR).applyModifier(new AttributeModifier(ARMOR_CALC_UUID, "DDD Armor Calculations Modifier", this.armors.getArmor() - this.itemArmor.getArmor() - this.specialArmor.getArmor(), 0));
+		fighter.getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).applyModifier(new AttributeModifier(TOUGHNESS_CALC_UUID, "DDD Toughness Calculations Modifier", this.armors.getToughness() - this.itemArmor.getToughness() - this.specialArmor.getToughness(), 0));
+	}
+
+	/**
+	 * Reduce each type of incoming damage by the armor against it. The hurt amount
+	 * stays at the damage before armor, so vanilla's armor pass damages armor
+	 * items like it normally would, and its reduction is swapped for this one in
+	 * {@link #applyDirectResult(LivingDamageEvent)}. Forge's reduction for
+	 * {@link ISpecialArmor} can't be swapped out, so players wearing any use
+	 * attribute modifiers instead.
+	 */
+	private void applyDirectArmor(LivingHurtEvent evt, DamageMap dmg, ArmorMap aMap) {
+		EntityLivingBase fighter = this.getFighter();
+		if(evt.getSource().isUnblockable() || !this.sumItemArmor(evt)) {
+			return;
+		}
+		if(this.hasSpecialArmor && fighter instanceof EntityPlayer) {
+			this.setArmorModifiers();
+			return;
+		}
+		float attributeArmor = fighter.getTotalArmorValue();
+		float attributeToughness = (float) fighter.getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).getAttributeValue();
+		// vanilla's pass for mobs and Forge's for players without ISpecialArmor both
+		// use the armor attributes as they are right now.
+		this.vanillaAmount = CombatKernel.applyArmor(evt.getAmount(), attributeArmor, attributeToughness);
+		// armor from anything other than armor items, like potions or other mods,
+		// still applies to every type.
+		CombatKernel.applyArmorPerType(aMap, dmg, attributeArmor - this.itemArmor.getArmor(), attributeToughness - this.itemArmor.getToughness());
+		this.directAmount = dmg.sum();
+		this.absorption = fighter.getAbsorptionAmount();
+		this.directArmor = true;
+	}
+
+	/**
+	 * Swap vanilla's armor reduction for the one from
+	 * {@link #applyDirectArmor(LivingHurtEvent, DamageMap, ArmorMap)}. Potions and
+	 * enchantments scale damage linearly, so the factor they applied carries over
+	 * as is. Absorption is refunded and taken again from the new amount.
+	 */
+	private void applyDirectResult(LivingDamageEvent evt) {
+		if(!this.directArmor) {
+			return;
+		}
+		this.directArmor = false;
+		EntityLivingBase fighter = this.getFighter();
+		float absorbed = this.absorption - fighter.getAbsorptionAmount();
+		float amount = this.vanillaAmount > 0 ? (evt.getAmount() + absorbed) * this.directAmount / this.vanillaAmount : 0.0f;
+		float newAbsorbed = Math.min(amount, this.absorption);
+		fighter.setAbsorptionAmount(this.absorption - newAbsorbed);
+		evt.setAmount(amount - newAbsorbed);
+	}
+
+	/**
+	 * Sum the armor and toughness of the fighter's armor items. Plain armor is
+	 * summed into {@link #itemArmor}, {@link ISpecialArmor} into
+	 * {@link #specialArmor}, and {@link #hasSpecialArmor} is set if there was any.
+	 * 
+	 * @return true if the fighter is wearing any armor.
+	 */
+	private boolean sumItemArmor(LivingHurtEvent evt) {
+		EntityLivingBase fighter = this.getFighter();
+		boolean hasArmor = false, hasSpecial = false;
+		float armor = 0.0f, toughness = 0.0f, specialArmor = 0.0f, specialToughness = 0.0f;
+		CachedArmor cache = this.ctx.getCachedArmor();
+		for(EntityEquipmentSlot slot : ARMOR_SLOTS) {
+			if(cache.isPlainArmor(fighter, slot)) {
+				armor += cache.getArmor(fighter, slot);
+				toughness += cache.getToughness(fighter, slot);
+				hasArmor = true;
+				continue;
+			}
+			// ISpecialArmor depends on the source and amount, so can't be cached.
+			ItemStack stack = fighter.getItemStackFromSlot(slot);
+			Item item = stack.getItem();
+			if(item instanceof ISpecialArmor) {
+				ArmorProperties props = ((ISpecialArmor) item).getProperties(fighter, stack, evt.getSource(), evt.getAmount(), slot.getIndex());
+				specialArmor += (float) props.Armor;
+				specialToughness += (float) props.Toughness;
+				hasArmor = true;
+				hasSpecial = true;
+			}
 		}
+		this.itemArmor.setValues(armor, toughness);
+		this.specialArmor.setValues(specialArmor, specialToughness);
+		this.hasSpecialArmor = hasSpecial;
+		return hasArmor;
+	}
+
+	/**
+	 * Force this tracker's cached defenses to be resolved again on the next hit.
+	 */
+	public void invalidateDefenses() {
+		this.ctx.getCachedDefenses().invalidate();
+	}
+
+	/**
+	 * Force this tracker's cached armor to be resolved again on the next hit.
+	 */
+	public void invalidateArmor() {
+		this.ctx.getCachedArmor().invalidate();
+	}
+
+	@Nullable
+	private static DDDCombatTracker trackerOf(EntityLivingBase entity) {
+		return entity.combatTracker instanceof DDDCombatTracker ? (DDDCombatTracker) entity.combatTracker : null;
 	}
 
 	@SubscribeEvent(priority = EventPriority.LOWEST)
@@ -241,37 +401,38 @@ public class DDDCombatTracker extends CombatTracker {
 // Lowest because we reset active hands, which means shields "aren't in use" past this point.
 	@SubscribeEvent(priority = EventPriority.LOWEST)
 	public static final void onEntityAttack(LivingAttackEvent evt) {
-		DDDAPI.accessor.getDDDCombatTracker(evt.getEntityLiving()).ifPresent((tracker) -> tracker.handleAttackStage(evt));
+		DDDCombatTracker tracker = trackerOf(evt.getEntityLiving());
+		if(tracker != null) {
+			long start = DDDInstrumentation.start();
+			tracker.handleAttackStage(evt);
+			DDDInstrumentation.record(Stage.ATTACK, start, tracker.getFighter());
+		}
 		DeveloperModeKernel.onAttackCallback(evt);
 	}
 
 	@SubscribeEvent(priority = EventPriority.LOWEST)
 	public static final void onEntityHurt(LivingHurtEvent evt) {
-		DDDAPI.accessor.getDDDCombatTracker(evt.getEntityLiving()).ifPresent((tracker) -> {
+		DDDCombatTracker tracker = trackerOf(evt.getEntityLiving());
+		if(tracker != null) {
+			long start = DDDInstrumentation.start();
 			tracker.handleHurtStage(evt);
-			tracker.getIncomingDamage().map(Functions.compose(YMath::sum, DamageMap::values)).filter((d) -> !Double.isNaN(d)).map(Double::floatValue).ifPresent(evt::setAmount);
-			tracker.getNewArmorValues().ifPresent((vals) -> {
-				Arrays.stream(ARMOR_SLOTS).map((slot) -> {
-					ItemStack stack = tracker.getFighter().getItemStackFromSlot(slot);
-					Item item = stack.getItem();
-					ArmorValues aVals = null;
-					if(item instanceof ISpecialArmor) {
-						ArmorProperties props = ((ISpecialArmor) item).getProperties(tracker.getFighter(), stack, evt.getSource(), evt.getAmount(), slot.getIndex());
-						aVals = new ArmorValues((float) props.Armor, (float) props.Toughness);
-					}
-					else if(item instanceof ItemArmor) {
-						ItemArmor armor = (ItemArmor) item;
-						aVals = new ArmorValues(armor.damageReduceAmount, armor.toughness);
-					}
-					return aVals;
-				}).filter(Predicates.not(Objects::isNull)).reduce(ArmorValues::merge).ifPresent((aVals) -> {
-					tracker.getFighter().getEntityAttribute(SharedMonsterAttributes.ARMOR).removeModifier(ARMOR_CALC_UUID);
-					tracker.getFighter().getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).removeModifier(TOUGHNESS_CALC_UUID);
-					tracker.getFighter().getEntityAttribute(SharedMonsterAttributes.ARMOR).applyModifier(new AttributeModifier(ARMOR_CALC_UUID, "DDD Armor Calculations Modifier", vals.getArmor() - aVals.getArmor(), 0));
-					tracker.getFighter().getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).applyModifier(new AttributeModifier(TOUGHNESS_CALC_UUID, "DDD Toughness Calculations Modifier", vals.getToughness() - aVals.getToughness(), 0));
-				});
-			});
-		});
+			DamageMap dmg = tracker.getIncomingDamage();
+			if(dmg != null) {
+				float amount = dmg.sum();
+				if(!Float.isNaN(amount)) {
+					evt.setAmount(amount);
+				}
+			}
+			if(tracker.hasArmors) {
+				if(ModConfig.resist.directArmorReduction && dmg != null) {
+					tracker.applyDirectArmor(evt, dmg, tracker.armorMap);
+				}
+				else {
+					tracker.applyArmorModifiers(evt);
+				}
+			}
+			DDDInstrumentation.record(Stage.HURT, start, tracker.getFighter());
+		}
 		DeveloperModeKernel.onHurtCallback(evt);
 	}
 
@@ -279,18 +440,73 @@ public class DDDCombatTracker extends CombatTracker {
 	// that are no longer needed.
 	@SubscribeEvent(priority = EventPriority.HIGHEST)
 	public static final void onEntityDamage(LivingDamageEvent evt) {
-		DDDAPI.accessor.getDDDCombatTracker(evt.getEntityLiving()).ifPresent((tracker) -> {
+		DDDCombatTracker tracker = trackerOf(evt.getEntityLiving());
+		if(tracker != null) {
+			long start = DDDInstrumentation.start();
 			tracker.getFighter().getEntityAttribute(SharedMonsterAttributes.ARMOR).removeModifier(ARMOR_CALC_UUID);
 			tracker.getFighter().getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).removeModifier(TOUGHNESS_CALC_UUID);
+			tracker.applyDirectResult(evt);
 			tracker.handleDamageStage(evt);
-			tracker.getRecentResults().getAmount().ifPresent((d) -> evt.setAmount((float) d));
-			DDDEffects.doEffects(evt.getSource().getTrueSource(), tracker.getFighter(), tracker.getRecentResults());
-		});
+			CombatResults results = tracker.getRecentResults();
+			if(!Float.isNaN(results.getRawAmount())) {
+				evt.setAmount(results.getRawAmount());
+			}
+			DDDEffects.doEffects(evt.getSource().getTrueSource(), tracker.getFighter(), results);
+			DDDInstrumentation.record(Stage.DAMAGE, start, tracker.getFighter());
+			DamageMap dmg = tracker.getIncomingDamage();
+			if(dmg != null) {
+				DDDInstrumentation.countDamageTypes(dmg);
+			}
+		}
 		DeveloperModeKernel.onDamageCallback(evt);
 	}
 
+	@SubscribeEvent
+	public static final void onPotionAdded(PotionEvent.PotionAddedEvent evt) {
+		invalidateDefensesFor(evt.getEntityLiving());
+	}
+
+	@SubscribeEvent
+	public static final void onPotionRemoved(PotionEvent.PotionRemoveEvent evt) {
+		invalidateDefensesFor(evt.getEntityLiving());
+	}
+
+	@SubscribeEvent
+	public static final void onPotionExpired(PotionEvent.PotionExpiryEvent evt) {
+		invalidateDefensesFor(evt.getEntityLiving());
+	}
+
+	@SubscribeEvent
+	public static final void onEquipmentChange(LivingEquipmentChangeEvent evt) {
+		DDDCombatTracker tracker = trackerOf(evt.getEntityLiving());
+		if(tracker != null) {
+			tracker.invalidateDefenses();
+			if(evt.getSlot().getSlotType() == EntityEquipmentSlot.Type.ARMOR) {
+				tracker.invalidateArmor();
+			}
+		}
+	}
+
+	private static void invalidateDefensesFor(EntityLivingBase entity) {
+		DDDCombatTracker tracker = trackerOf(entity);
+		if(tracker != null) {
+			tracker.invalidateDefenses();
+		}
+	}
+
+	@SubscribeEvent
+	public static final void onServerTick(TickEvent.ServerTickEvent evt) {
+		if(evt.phase == TickEvent.Phase.END) {
+			AttackerClassification.clear();
+		}
+	}
+
 	@SubscribeEvent
 	public static final void onEntityKnockback(LivingKnockBackEvent evt) {
-		DDDAPI.accessor.getDDDCombatTracker(evt.getEntityLiving()).map(DDDCombatTracker::getRecentResults).map(Predicates.or(Predicates.and(CombatResults::wasImmunityTriggered, (results) -> results.getAmount().orElse(Double.NaN) == 0), CombatResults::wasShieldEffective)::test).ifPresent(evt::setCanceled);
+		DDDCombatTracker tracker = trackerOf(evt.getEntityLiving());
+		if(tracker != null) {
+			CombatResults results = tracker.getRecentResults();
+			evt.setCanceled((results.wasImmunityTriggered() && results.getRawAmount() == 0) || results.wasShieldEffective());
+		}
 	}
 }
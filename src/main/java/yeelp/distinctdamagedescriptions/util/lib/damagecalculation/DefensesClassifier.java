@@ -1,24 +1,23 @@
 package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
 
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 import yeelp.distinctdamagedescriptions.api.DDDAPI;
-import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.capability.IMobResistances;
 import yeelp.distinctdamagedescriptions.event.DDDHooks;
-import yeelp.distinctdamagedescriptions.registries.DDDRegistries;
-import yeelp.distinctdamagedescriptions.util.ResistMap;
+import yeelp.distinctdamagedescriptions.event.classification.GatherDefensesEvent;
 
 final class DefensesClassifier implements IClassifier<MobDefenses> {
 
 	@Override
-	public Optional<MobDefenses> classify(CombatContext context) {
-		return DDDAPI.accessor.getMobResistances(context.getDefender()).map((resists) -> {
-			Set<DDDDamageType> immunities = DDDRegistries.damageTypes.getAll().stream().filter(resists::hasImmunity).collect(Collectors.toSet());
-			ResistMap map = resists.getAllResistances();
-			DDDHooks.fireGatherDefenses(context.getImmediateAttacker(), context.getTrueAttacker(), context.getDefender(), context.getSource(), map, immunities);
-			return new MobDefenses(map, immunities);
-		});
+	public MobDefenses classify(CombatContext context) {
+		IMobResistances resists = DDDAPI.accessor.getMobResistances(context.getDefender()).orElse(null);
+		if(resists == null) {
+			return null;
+		}
+		MobDefenses cached = context.getCachedDefenses().get(resists);
+		MobDefenses buffer = context.getDefensesBuffer();
+		// Listeners read the cached defenses, which are only copied to the buffer if
+		// one of them changes something.
+		GatherDefensesEvent evt = DDDHooks.fireGatherDefenses(context.getImmediateAttacker(), context.getTrueAttacker(), context.getDefender(), context.getSource(), cached.resistances, cached.immunities, buffer.resistances, buffer.immunities);
+		return evt != null && evt.wereDefensesChanged() ? buffer : cached;
 	}
 }
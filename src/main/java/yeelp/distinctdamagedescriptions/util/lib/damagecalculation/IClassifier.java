@@ -1,14 +1,23 @@
 package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
 
-import java.util.Optional;
 import java.util.function.Function;
 
-interface IClassifier<Output> extends Function<CombatContext, Optional<Output>> {
+import javax.annotation.Nullable;
+
+interface IClassifier<Output> extends Function<CombatContext, Output> {
 
 	@Override
-	default Optional<Output> apply(CombatContext t) {
+	default Output apply(CombatContext t) {
 		return classify(t);
 	}
 
-	Optional<Output> classify(CombatContext context);
+	/**
+	 * Classify a context. Classifiers may write into the context's scratch
+	 * buffers and return them.
+	 * 
+	 * @param context
+	 * @return the classification, or null if there is none.
+	 */
+	@Nullable
+	Output classify(CombatContext context);
 }
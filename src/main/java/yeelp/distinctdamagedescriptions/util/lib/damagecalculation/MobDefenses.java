@@ -1,24 +1,41 @@
 package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
 
-import java.util.Set;
-
-import com.google.common.collect.Sets;
-
-import yeelp.distinctdamagedescriptions.api.DDDDamageType;
+import yeelp.distinctdamagedescriptions.util.DamageTypeSet;
 import yeelp.distinctdamagedescriptions.util.ResistMap;
+import yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel.DefenderProfile;
 
-class MobDefenses {
+class MobDefenses implements DefenderProfile {
 
 	public ResistMap resistances;
-	public Set<DDDDamageType> immunities;
+	public DamageTypeSet immunities;
 
 	public MobDefenses() {
-		this(new ResistMap(), Sets.newHashSet());
+		this(new ResistMap(), new DamageTypeSet());
 	}
 
-	public MobDefenses(ResistMap resistances, Set<DDDDamageType> immunities) {
+	public MobDefenses(ResistMap resistances, DamageTypeSet immunities) {
 		this.resistances = resistances;
 		this.immunities = immunities;
 	}
 
+	@Override
+	public ResistMap getResistances() {
+		return this.resistances;
+	}
+
+	@Override
+	public boolean isImmune(int ordinal) {
+		return this.immunities.contains(ordinal);
+	}
+
+	/**
+	 * Clear these defenses so they can be refilled
+	 * 
+	 * @return this
+	 */
+	MobDefenses clear() {
+		this.resistances.clear();
+		this.immunities.clear();
+		return this;
+	}
 }
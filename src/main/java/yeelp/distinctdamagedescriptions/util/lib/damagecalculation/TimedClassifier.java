@@ -0,0 +1,32 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation;
+
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation;
+import yeelp.distinctdamagedescriptions.util.development.DDDInstrumentation.Stage;
+
+/**
+ * A classifier that records how long another classifier takes.
+ * 
+ * @author Yeelp
+ *
+ * @param <Output> the classification type
+ */
+final class TimedClassifier<Output> implements IClassifier<Output> {
+	private final IClassifier<Output> classifier;
+	private final Stage stage;
+
+	TimedClassifier(IClassifier<Output> classifier, Stage stage) {
+		this.classifier = classifier;
+		this.stage = stage;
+	}
+
+	@Override
+	public Output classify(CombatContext context) {
+		long start = DDDInstrumentation.start();
+		try {
+			return this.classifier.classify(context);
+		}
+		finally {
+			DDDInstrumentation.record(this.stage, start);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+/**
+ * Armor and toughness a defender has against each damage type.
+ *
+ * @author Yeelp
+ *
+ */
+public interface ArmorTable {
+	/**
+	 * Get the armor against a damage type
+	 *
+	 * @param ordinal the damage type's ordinal
+	 * @return the armor, or 0 if there is none.
+	 */
+	float getArmor(int ordinal);
+
+	/**
+	 * Get the toughness against a damage type
+	 *
+	 * @param ordinal the damage type's ordinal
+	 * @return the toughness, or 0 if there is none.
+	 */
+	float getToughness(int ordinal);
+}
@@ -0,0 +1,26 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+/**
+ * A mutable armor and toughness total, so the kernel can sum armor without
+ * allocating.
+ *
+ * @author Yeelp
+ *
+ */
+public final class ArmorTotals {
+	private float armor, toughness;
+
+	public float getArmor() {
+		return this.armor;
+	}
+
+	public float getToughness() {
+		return this.toughness;
+	}
+
+	public ArmorTotals set(float armor, float toughness) {
+		this.armor = armor;
+		this.toughness = toughness;
+		return this;
+	}
+}
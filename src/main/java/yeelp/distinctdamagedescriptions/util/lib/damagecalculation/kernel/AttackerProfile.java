@@ -0,0 +1,39 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+/**
+ * The attacker side of a combat, as far as the {@link CombatKernel} is
+ * concerned: anything the attacker has that changes how damage is resisted.
+ *
+ * @author Yeelp
+ *
+ */
+public interface AttackerProfile {
+	/**
+	 * An attacker with nothing that changes how damage is resisted.
+	 */
+	AttackerProfile NONE = new AttackerProfile() {
+		@Override
+		public boolean hasSlyStrike() {
+			return false;
+		}
+
+		@Override
+		public float getBruteForce() {
+			return 0.0f;
+		}
+	};
+
+	/**
+	 * Does this attacker ignore immunities?
+	 *
+	 * @return true if immunities are ignored
+	 */
+	boolean hasSlyStrike();
+
+	/**
+	 * Get how much this attacker reduces positive resistances by
+	 *
+	 * @return the reduction, as a fraction of the resistance
+	 */
+	float getBruteForce();
+}
@@ -0,0 +1,241 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import javax.annotation.Nullable;
+
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+import yeelp.distinctdamagedescriptions.util.ResistMap;
+
+/**
+ * DDD's damage calculations, without any of the Minecraft around them. Every
+ * method here works only on damage type ordinals and the profiles passed in,
+ * so the same math the combat tracker runs in game can run headless.
+ *
+ * @author Yeelp
+ *
+ */
+public final class CombatKernel {
+	private static final float MAX_ARMOR = 20.0f;
+
+	private CombatKernel() {
+		throw new UnsupportedOperationException("Kernel can't be instantiated!");
+	}
+
+	/**
+	 * Does a shield block any of the incoming damage?
+	 *
+	 * @param shield the shield
+	 * @param dmg    the incoming damage
+	 * @return true if the shield blocks at least one type in {@code dmg}
+	 */
+	public static boolean blocksAny(ShieldTable shield, DamageMap dmg) {
+		for(int i = dmg.nextOrdinal(0); i >= 0; i = dmg.nextOrdinal(i + 1)) {
+			if(shield.getBlockWeight(i) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Block damage with a shield. Types that are completely blocked are removed
+	 * from the damage.
+	 *
+	 * @param shield the shield
+	 * @param dmg    the incoming damage. Modified in place.
+	 * @return {@code dmg}
+	 */
+	public static DamageMap block(ShieldTable shield, DamageMap dmg) {
+		for(int i = dmg.nextOrdinal(0); i >= 0; i = dmg.nextOrdinal(i + 1)) {
+			float weight = shield.getBlockWeight(i);
+			if(weight <= 0) {
+				continue;
+			}
+			float f = Math.max(dmg.getFloat(i) * (1 - weight), 0);
+			if(f <= 0) {
+				dmg.removeOrdinal(i);
+			}
+			else {
+				dmg.setFloat(i, f);
+			}
+		}
+		return dmg;
+	}
+
+	/**
+	 * Pick one of the damage types in a damage map uniformly at random, the way
+	 * DDD picks which type a defender was hit by.
+	 *
+	 * @param dmg  the damage
+	 * @param rand the random to use
+	 * @return the picked type's ordinal, or -1 if {@code dmg} is empty.
+	 */
+	public static int pickType(DamageMap dmg, Random rand) {
+		if(dmg.isEmpty()) {
+			return -1;
+		}
+		int ordinal = dmg.nextOrdinal(0);
+		for(int skip = rand.nextInt(dmg.size()); skip > 0; skip--) {
+			ordinal = dmg.nextOrdinal(ordinal + 1);
+		}
+		return ordinal;
+	}
+
+	/**
+	 * Sum the armor and toughness a defender has against the types in some
+	 * damage.
+	 *
+	 * @param armor the defender's armor
+	 * @param dmg   the incoming damage
+	 * @param into  where to write the totals
+	 * @return {@code into}
+	 */
+	public static ArmorTotals sumArmor(ArmorTable armor, DamageMap dmg, ArmorTotals into) {
+		float a = 0.0f, t = 0.0f;
+		for(int i = dmg.nextOrdinal(0); i >= 0; i = dmg.nextOrdinal(i + 1)) {
+			if(dmg.getFloat(i) > 0) {
+				a += armor.getArmor(i);
+				t += armor.getToughness(i);
+			}
+		}
+		return into.set(a, t);
+	}
+
+	/**
+	 * Reduce damage with armor and toughness. This is vanilla's armor formula.
+	 *
+	 * @param damage    the damage
+	 * @param armor     the armor
+	 * @param toughness the toughness
+	 * @return the damage after armor.
+	 */
+	public static float applyArmor(float damage, float armor, float toughness) {
+		float f = 2.0f + toughness / 4.0f;
+		float f1 = armor - damage / f;
+		// same bound order as vanilla's clamp, which matters for armor above 100.
+		f1 = f1 < armor * 0.2f ? armor * 0.2f : f1 > MAX_ARMOR ? MAX_ARMOR : f1;
+		return damage * (1.0f - f1 / 25.0f);
+	}
+
+	/**
+	 * Reduce each type of damage by the armor and toughness against that type.
+	 *
+	 * @param armor          the defender's armor
+	 * @param dmg            the incoming damage. Modified in place.
+	 * @param extraArmor     armor that applies to every type, on top of
+	 *                       {@code armor}
+	 * @param extraToughness toughness that applies to every type, on top of
+	 *                       {@code armor}
+	 * @return {@code dmg}
+	 */
+	public static DamageMap applyArmorPerType(ArmorTable armor, DamageMap dmg, float extraArmor, float extraToughness) {
+		for(int i = dmg.nextOrdinal(0); i >= 0; i = dmg.nextOrdinal(i + 1)) {
+			float amount = dmg.getFloat(i);
+			if(amount > 0) {
+				dmg.setFloat(i, applyArmor(amount, armor.getArmor(i) + extraArmor, armor.getToughness(i) + extraToughness));
+			}
+		}
+		return dmg;
+	}
+
+	/**
+	 * Apply a defender's immunities and resistances to damage.
+	 *
+	 * @param dmg      the incoming damage. Modified in place.
+	 * @param attacker the attacker
+	 * @param defender the defender
+	 * @param results  where to record what was triggered
+	 * @return {@code dmg}
+	 */
+	public static DamageMap applyDefenses(DamageMap dmg, AttackerProfile attacker, DefenderProfile defender, CombatRecorder results) {
+		float bruteForce = attacker.getBruteForce();
+		if(!attacker.hasSlyStrike()) {
+			boolean immune = false;
+			for(int i = dmg.nextOrdinal(0); i >= 0; i = dmg.nextOrdinal(i + 1)) {
+				if(defender.isImmune(i)) {
+					immune |= dmg.getFloat(i) > 0.0f;
+					dmg.removeOrdinal(i);
+				}
+			}
+			if(immune) {
+				results.hasImmunity();
+			}
+		}
+		ResistMap resists = defender.getResistances();
+		for(int i = resists.nextOrdinal(0); i >= 0; i = resists.nextOrdinal(i + 1)) {
+			if(!dmg.contains(i)) {
+				continue;
+			}
+			float v = resists.getFloat(i);
+			float resist = v > 0 ? Math.min(Math.max(v - bruteForce, 0.0f), 1.0f) : v;
+			dmg.setFloat(i, dmg.getFloat(i) * Math.max(1 - resist, 0));
+			if(resist > 0) {
+				results.hasResistance();
+			}
+			else if(resist < 0) {
+				results.hasWeakness();
+			}
+		}
+		return dmg;
+	}
+
+	/**
+	 * Get the multiplier adaptive weakness applies to a defender's adaptive
+	 * amount after being hit by some damage. The more the damage was weighted
+	 * towards types the defender is weak to, the smaller the multiplier.
+	 *
+	 * @param dmg        the damage the defender is adapting to
+	 * @param resistance the defender's resistance to each ordinal
+	 * @return the multiplier, between 0 and 1
+	 */
+	public static float getAdaptiveWeaknessModifier(DamageMap dmg, IntToDoubleFunction resistance) {
+		float total = dmg.sum();
+		double weakness = 0;
+		int weakTypes = 0;
+		for(int i = dmg.nextOrdinal(0); i >= 0; i = dmg.nextOrdinal(i + 1)) {
+			double r = resistance.applyAsDouble(i);
+			if(r < 0) {
+				weakness += r * (dmg.getFloat(i) / total);
+				weakTypes++;
+			}
+		}
+		return (float) Math.exp(weakTypes == 0 ? 0 : weakness / weakTypes);
+	}
+
+	/**
+	 * Run a whole combat calculation in the order the combat tracker does over
+	 * the attack, hurt and damage stages: shield, then armor, then defenses.
+	 *
+	 * @param dmg      the classified incoming damage. Modified in place, and holds
+	 *                 the final damage afterwards.
+	 * @param attacker the attacker
+	 * @param defender the defender
+	 * @param shield   the defender's shield, or null if they aren't blocking
+	 * @param armor    the defender's armor, or null if armor doesn't apply
+	 * @param results  where to record what was triggered. Should be reset.
+	 * @param scratch  scratch space for armor totals
+	 * @return the final damage
+	 */
+	public static float resolve(DamageMap dmg, AttackerProfile attacker, DefenderProfile defender, @Nullable ShieldTable shield, @Nullable ArmorTable armor, CombatRecorder results, ArmorTotals scratch) {
+		results.withStartingDamage(dmg.sum());
+		if(shield != null && blocksAny(shield, dmg)) {
+			block(shield, dmg);
+			results.hasEffectiveShield(dmg);
+		}
+		if(armor != null && !dmg.isEmpty()) {
+			sumArmor(armor, dmg, scratch);
+			float amount = dmg.sum();
+			if(amount > 0) {
+				dmg.scale(applyArmor(amount, scratch.getArmor(), scratch.getToughness()) / amount);
+			}
+		}
+		if(!dmg.isEmpty()) {
+			applyDefenses(dmg, attacker, defender, results);
+		}
+		float amount = dmg.sum();
+		results.withAmount(amount);
+		return amount;
+	}
+}
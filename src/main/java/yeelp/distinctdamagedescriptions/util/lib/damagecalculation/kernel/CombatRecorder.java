@@ -0,0 +1,56 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+import yeelp.distinctdamagedescriptions.util.DamageMap;
+
+/**
+ * Records what happened during a combat calculation in the kernel.
+ *
+ * @author Yeelp
+ *
+ */
+public interface CombatRecorder {
+	/**
+	 * Record the damage before any calculation
+	 *
+	 * @param amount the starting damage
+	 * @return this
+	 */
+	CombatRecorder withStartingDamage(float amount);
+
+	/**
+	 * Record that a shield blocked some damage
+	 *
+	 * @param newDmg the damage after the shield
+	 * @return this
+	 */
+	CombatRecorder hasEffectiveShield(DamageMap newDmg);
+
+	/**
+	 * Record that an immunity was triggered
+	 *
+	 * @return this
+	 */
+	CombatRecorder hasImmunity();
+
+	/**
+	 * Record that a resistance was hit
+	 *
+	 * @return this
+	 */
+	CombatRecorder hasResistance();
+
+	/**
+	 * Record that a weakness was hit
+	 *
+	 * @return this
+	 */
+	CombatRecorder hasWeakness();
+
+	/**
+	 * Record the final damage
+	 *
+	 * @param amount the final damage
+	 * @return this
+	 */
+	CombatRecorder withAmount(float amount);
+}
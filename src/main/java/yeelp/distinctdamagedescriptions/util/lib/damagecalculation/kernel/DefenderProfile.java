@@ -0,0 +1,28 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+import yeelp.distinctdamagedescriptions.util.ResistMap;
+
+/**
+ * The defender side of a combat, as far as the {@link CombatKernel} is
+ * concerned: resolved resistances and immunities.
+ *
+ * @author Yeelp
+ *
+ */
+public interface DefenderProfile {
+	/**
+	 * Get this defender's resistances
+	 *
+	 * @return the resistances, keyed by damage type ordinal. Not modified by the
+	 *         kernel.
+	 */
+	ResistMap getResistances();
+
+	/**
+	 * Is this defender immune to a damage type?
+	 *
+	 * @param ordinal the damage type's ordinal
+	 * @return true if immune
+	 */
+	boolean isImmune(int ordinal);
+}
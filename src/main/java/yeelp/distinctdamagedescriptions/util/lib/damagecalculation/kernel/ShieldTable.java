@@ -0,0 +1,18 @@
+package yeelp.distinctdamagedescriptions.util.lib.damagecalculation.kernel;
+
+/**
+ * How much of each damage type a shield blocks.
+ *
+ * @author Yeelp
+ *
+ */
+public interface ShieldTable {
+	/**
+	 * Get the fraction of a damage type this shield blocks
+	 *
+	 * @param ordinal the damage type's ordinal
+	 * @return the fraction blocked. Anything less than or equal to 0 means this
+	 *         shield doesn't block that type at all.
+	 */
+	float getBlockWeight(int ordinal);
+}
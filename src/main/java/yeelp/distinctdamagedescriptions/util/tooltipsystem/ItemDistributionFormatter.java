@@ -11,9 +11,8 @@ import net.minecraft.entity.ai.attributes.AttributeModifier;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
 import yeelp.distinctdamagedescriptions.api.DDDAPI;
-import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.ModConfig;
-import yeelp.distinctdamagedescriptions.util.lib.YResources;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 
 /**
  * The singleton instance for formatting instances for generic items
@@ -46,7 +45,7 @@ public class ItemDistributionFormatter extends AbstractDamageDistributionFormatt
 
 	@Override
 	protected boolean shouldShowDist(ItemStack stack) {
-		return DDDConfigurations.items.configured(YResources.getRegistryString(stack)) || ModConfig.client.alwaysShowDamageDistTooltip;
+		return ResolvedItemProfile.of(stack.getItem()).getDamageDistribution() != null || ModConfig.client.alwaysShowDamageDistTooltip;
 	}
 
 	@Override
@@ -3,8 +3,7 @@ package yeelp.distinctdamagedescriptions.util.tooltipsystem;
 import java.util.Optional;
 
 import net.minecraft.item.ItemStack;
-import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
-import yeelp.distinctdamagedescriptions.util.lib.YResources;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 
 /**
  * A singleton formatter instance for formatting projectile distributions.
@@ -17,7 +16,7 @@ public class ProjectileDistributionFormatter extends AbstractDamageDistributionF
 	private static ProjectileDistributionFormatter instance;
 
 	protected ProjectileDistributionFormatter() {
-		super(KeyTooltip.CTRL, DDDNumberFormatter.PERCENT, DDDDamageFormatter.COLOURED, (s) -> Optional.ofNullable(YResources.getRegistryString(s.getItem())).filter(DDDConfigurations.projectiles::isProjectilePairRegistered).map(DDDConfigurations.projectiles::getFromItemID), "projectiledistribution");
+		super(KeyTooltip.CTRL, DDDNumberFormatter.PERCENT, DDDDamageFormatter.COLOURED, (s) -> Optional.ofNullable(ResolvedItemProfile.of(s.getItem()).getProjectileDistribution()), "projectiledistribution");
 	}
 
 	/**
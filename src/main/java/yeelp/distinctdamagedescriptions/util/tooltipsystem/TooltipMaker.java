@@ -11,7 +11,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
 import yeelp.distinctdamagedescriptions.config.ModConfig;
-import yeelp.distinctdamagedescriptions.util.lib.YResources;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 import yeelp.distinctdamagedescriptions.util.tooltipsystem.iconaggregation.ArmorDistributionIconAggregator;
 import yeelp.distinctdamagedescriptions.util.tooltipsystem.iconaggregation.Icon;
 import yeelp.distinctdamagedescriptions.util.tooltipsystem.iconaggregation.IconAggregator;
@@ -33,37 +33,37 @@ import yeelp.distinctdamagedescriptions.util.tooltipsystem.iconaggregation.Shiel
 public enum TooltipMaker {
 	ITEM(ItemDistributionFormatter.getInstance(), ItemDamageDistributionIconAggregator.getInstance()) {
 		@Override
-		protected boolean isApplicable(ItemStack stack, String registryString) {
-			return DDDConfigurations.items.configured(registryString) || (!MOB_DAMAGE.isApplicable(stack, registryString) && ModConfig.client.alwaysShowDamageDistTooltip);
+		protected boolean isApplicable(ItemStack stack, ResolvedItemProfile profile) {
+			return profile.getDamageDistribution() != null || (!MOB_DAMAGE.isApplicable(stack, profile) && ModConfig.client.alwaysShowDamageDistTooltip);
 		}
 	},
 	MOB_DAMAGE(MobDamageDistributionFormatter.getInstance(), MobDamageDistributionIconAggregator.getInstance()) {
 		@Override
-		protected boolean isApplicable(ItemStack stack, String registryString) {
+		protected boolean isApplicable(ItemStack stack, ResolvedItemProfile profile) {
 			return ModConfig.client.showMobDamage && stack.getItem() instanceof ItemMonsterPlacer;
 		}
 	},
 	PROJECTILE(ProjectileDistributionFormatter.getInstance(), ProjectileDamageDistributionIconAggregator.getInstance()) {
 		@Override
-		protected boolean isApplicable(ItemStack stack, String registryString) {
-			return DDDConfigurations.projectiles.isProjectilePairRegistered(registryString);
+		protected boolean isApplicable(ItemStack stack, ResolvedItemProfile profile) {
+			return profile.hasProjectilePair();
 		}
 	},
 	ARMOR(ArmorDistributionFormatter.getInstance(), ArmorDistributionIconAggregator.getInstance()) {
 		@Override
-		protected boolean isApplicable(ItemStack stack, String registryString) {
-			return DDDConfigurations.armors.configured(registryString);
+		protected boolean isApplicable(ItemStack stack, ResolvedItemProfile profile) {
+			return profile.getArmorDistribution() != null;
 		}
 	},
 	SHIELD(ShieldDistributionFormatter.getInstance(), ShieldDistributionIconAggregator.getInstance()) {
 		@Override
-		protected boolean isApplicable(ItemStack stack, String registryString) {
-			return DDDConfigurations.shields.configured(registryString);
+		protected boolean isApplicable(ItemStack stack, ResolvedItemProfile profile) {
+			return profile.getShieldDistribution() != null;
 		}
 	},
 	MOB_RESISTANCES(MobResistancesFormatter.getInstance(), MobResistanceIconAggregator.getInstance()) {
 		@Override
-		protected boolean isApplicable(ItemStack stack, String registryString) {
+		protected boolean isApplicable(ItemStack stack, ResolvedItemProfile profile) {
 			boolean isMonsterPlacer = stack.getItem() instanceof ItemMonsterPlacer;
 			boolean underlyingMobIsConfigured = Optional.ofNullable(ItemMonsterPlacer.getNamedIdFrom(stack)).map(ResourceLocation::toString).map(DDDConfigurations.mobResists::configured).orElse(false);
 			return isMonsterPlacer && underlyingMobIsConfigured;
@@ -128,9 +128,9 @@ public enum TooltipMaker {
 	}
 
 	private static Stream<TooltipMaker> getApplicableMakers(ItemStack stack) {
-		final String regKey = YResources.getRegistryString(stack);
-		return Arrays.stream(TooltipMaker.values()).filter((m) -> m.isApplicable(stack, regKey)).sorted();
+		final ResolvedItemProfile profile = ResolvedItemProfile.of(stack.getItem());
+		return Arrays.stream(TooltipMaker.values()).filter((m) -> m.isApplicable(stack, profile)).sorted();
 	}
 
-	protected abstract boolean isApplicable(ItemStack stack, String registryString);
+	protected abstract boolean isApplicable(ItemStack stack, ResolvedItemProfile profile);
 }
@@ -3,8 +3,7 @@ package yeelp.distinctdamagedescriptions.util.tooltipsystem.iconaggregation;
 import java.util.Optional;
 
 import yeelp.distinctdamagedescriptions.capability.IDamageDistribution;
-import yeelp.distinctdamagedescriptions.config.DDDConfigurations;
-import yeelp.distinctdamagedescriptions.util.lib.YResources;
+import yeelp.distinctdamagedescriptions.config.ResolvedItemProfile;
 import yeelp.distinctdamagedescriptions.util.tooltipsystem.ProjectileDistributionFormatter;
 
 /**
@@ -18,7 +17,7 @@ public class ProjectileDamageDistributionIconAggregator extends DistributionIcon
 	private static ProjectileDamageDistributionIconAggregator instance;
 
 	private ProjectileDamageDistributionIconAggregator() {
-		super(ProjectileDistributionFormatter.getInstance(), (s) -> Optional.ofNullable(DDDConfigurations.projectiles.getFromItemID(YResources.getRegistryString(s))));
+		super(ProjectileDistributionFormatter.getInstance(), (s) -> Optional.ofNullable(ResolvedItemProfile.of(s.getItem()).getProjectileDistribution()));
 	}
 
 	/**